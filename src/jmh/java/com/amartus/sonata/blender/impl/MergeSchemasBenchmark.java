@@ -0,0 +1,73 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.amartus.sonata.blender.impl;
+
+import com.amartus.sonata.blender.impl.util.CatalogGenerator;
+import com.amartus.sonata.blender.impl.util.CatalogState;
+import com.amartus.sonata.blender.impl.util.ModelCodec;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merge of resolved product specifications into the base OAS.
+ * Both are modified by the merge, so each invocation works on fresh copies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class MergeSchemasBenchmark {
+    private OpenAPI base;
+    private Map<String, Schema> resolved;
+
+    private OpenAPI target;
+    private Map<String, Schema> toInject;
+
+    @Setup(Level.Trial)
+    public void resolve(CatalogState state) {
+        base = state.base();
+        resolved = state.resolve();
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        target = ModelCodec.copy(base, OpenAPI.class);
+        toInject = ModelCodec.copy(resolved, CatalogState.SCHEMAS);
+    }
+
+    @Benchmark
+    public OpenAPI execute() {
+        new MergeSchemasAction(CatalogGenerator.MODEL_TO_AUGMENT, MergeSchemasAction.Mode.FIX)
+                .schemasToInject(toInject)
+                .target(target)
+                .execute();
+        return target;
+    }
+}
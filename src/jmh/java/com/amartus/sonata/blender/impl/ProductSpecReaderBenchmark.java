@@ -0,0 +1,42 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.amartus.sonata.blender.impl;
+
+import com.amartus.sonata.blender.impl.util.CatalogGenerator;
+import com.amartus.sonata.blender.impl.util.CatalogState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductSpecReaderBenchmark {
+
+    @Benchmark
+    public void readSchemas(CatalogState state, Blackhole blackhole) {
+        for (var spec : state.catalog.getProductSpecifications()) {
+            blackhole.consume(new ProductSpecReader(CatalogGenerator.MODEL_TO_AUGMENT, spec).readSchemas());
+        }
+    }
+}
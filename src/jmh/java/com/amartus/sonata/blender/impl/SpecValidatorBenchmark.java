@@ -0,0 +1,68 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.amartus.sonata.blender.impl;
+
+import com.amartus.sonata.blender.impl.postprocess.ComposedPostprocessor;
+import com.amartus.sonata.blender.impl.util.CatalogState;
+import com.amartus.sonata.blender.impl.util.SerializationUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SpecValidatorBenchmark {
+    @Param({"4"})
+    public int parallelism;
+
+    private SpecValidator validator;
+    private JsonNode document;
+
+    @Setup(Level.Trial)
+    public void blend(CatalogState state) throws IOException {
+        var api = state.merged();
+        new ComposedPostprocessor().accept(api);
+        document = SerializationUtils.toTree(api);
+        validator = SpecValidator.fromClasspath();
+    }
+
+    @Benchmark
+    public Collection<?> validate() {
+        return validator.validate(document);
+    }
+
+    @Benchmark
+    public List<SpecValidator.Issue> validateSharded() {
+        return validator.validate(document, parallelism);
+    }
+}
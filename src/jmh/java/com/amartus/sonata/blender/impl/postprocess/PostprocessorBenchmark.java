@@ -0,0 +1,91 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.amartus.sonata.blender.impl.postprocess;
+
+import com.amartus.sonata.blender.impl.util.CatalogState;
+import com.amartus.sonata.blender.impl.util.ModelCodec;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Each post-processor of {@link ComposedPostprocessor} run on the model as left by the preceding ones.
+ * Fused post-processors are named after their visitors joined with '+'; {@code all} runs the whole pipeline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PostprocessorBenchmark {
+    @Param({
+            "RenameTypesPostprocessor",
+            "RemoveSuperflousTypeDeclarations+PropertyEnumExternalize",
+            "ComposedPropertyToType",
+            "SingleEnumToDiscriminatorValue",
+            "ConvertOneOfToAllOffInheritance",
+            "UpdateDiscriminatorMapping",
+            "RemoveDefaultParameterValues",
+            "ConstrainDiscriminatorValueWithEnum+RemoveSchemaExtensions",
+            "all"
+    })
+    public String postprocessor;
+
+    private Consumer<OpenAPI> subject;
+    private OpenAPI input;
+    private OpenAPI model;
+
+    @Setup(Level.Trial)
+    public void prepare(CatalogState state) {
+        input = state.merged();
+        var composed = new ComposedPostprocessor();
+        if ("all".equals(postprocessor)) {
+            subject = composed;
+            return;
+        }
+        for (var p : composed.postprocessors()) {
+            if (ComposedPostprocessor.name(p).replace(" ", "").equals(postprocessor)) {
+                subject = p;
+                return;
+            }
+            p.accept(input);
+        }
+        throw new IllegalArgumentException("Unknown post-processor " + postprocessor);
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        model = ModelCodec.copy(input, OpenAPI.class);
+    }
+
+    @Benchmark
+    public OpenAPI accept() {
+        subject.accept(model);
+        return model;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.amartus.sonata.blender.impl.util;
+
+import com.amartus.sonata.blender.impl.MergeSchemasAction;
+import com.amartus.sonata.blender.impl.ProductSpecReader;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic catalog shared by the benchmarks, generated once per trial.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+    public static final TypeReference<Map<String, Schema>> SCHEMAS = new TypeReference<>() {};
+
+    @Param({"100", "1000"})
+    public int products;
+
+    @Param({"5"})
+    public int typesPerProduct;
+
+    public CatalogGenerator.Catalog catalog;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        catalog = new CatalogGenerator()
+                .products(products)
+                .typesPerProduct(typesPerProduct)
+                .commonTypes(Math.max(10, products / 2))
+                .generate(Files.createTempDirectory("catalog"));
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        try (Stream<Path> files = Files.walk(catalog.getRoot())) {
+            for (var f : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(f);
+            }
+        }
+    }
+
+    public OpenAPI base() {
+        return OasUtils.readOas(catalog.getBaseOas().toString());
+    }
+
+    public Map<String, Schema> resolve() {
+        Map<String, Schema> schemas = new HashMap<>();
+        for (var spec : catalog.getProductSpecifications()) {
+            schemas.putAll(new ProductSpecReader(CatalogGenerator.MODEL_TO_AUGMENT, spec).readSchemas());
+        }
+        return schemas;
+    }
+
+    /**
+     * @return base OAS with all product specifications merged, before post-processing
+     */
+    public OpenAPI merged() {
+        var api = base();
+        new MergeSchemasAction(CatalogGenerator.MODEL_TO_AUGMENT, MergeSchemasAction.Mode.FIX)
+                .schemasToInject(resolve())
+                .target(api)
+                .execute();
+        return api;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.amartus.sonata.blender.impl.util;
+
+import com.amartus.sonata.blender.impl.postprocess.ComposedPostprocessor;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * YAML writing of the blended model. Output is discarded, so only serialization is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    private OpenAPI api;
+
+    @Setup(Level.Trial)
+    public void blend(CatalogState state) {
+        api = state.merged();
+        new ComposedPostprocessor().accept(api);
+    }
+
+    @Benchmark
+    public void yamlWriter() throws IOException {
+        SerializationUtils.yamlWriter().writeValue(OutputStream.nullOutputStream(), api);
+    }
+
+    @Benchmark
+    public void oasWriter() throws IOException {
+        OasWriter.yaml().write(api, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public JsonNode toTree() {
+        return SerializationUtils.toTree(api);
+    }
+}
@@ -17,9 +17,13 @@
  */
 package com.amartus.sonata.blender;
 
+import com.amartus.sonata.blender.cmd.Batch;
 import com.amartus.sonata.blender.cmd.Blend;
+import com.amartus.sonata.blender.cmd.Convert;
 import com.amartus.sonata.blender.cmd.Generate;
+import com.amartus.sonata.blender.cmd.GenerateFixtures;
 import com.amartus.sonata.blender.cmd.Merge;
+import com.amartus.sonata.blender.cmd.Serve;
 import com.amartus.sonata.blender.impl.util.TextUtils;
 import com.github.rvesse.airline.Cli;
 import com.github.rvesse.airline.builder.CliBuilder;
@@ -53,6 +57,10 @@ public class Blender {
                         Generate.class,
                         Blend.class,
                         Merge.class,
+                        Batch.class,
+                        Serve.class,
+                        Convert.class,
+                        GenerateFixtures.class,
                         Help.class
                 );
     }
@@ -18,16 +18,18 @@
 
 package com.amartus.sonata.blender.cmd;
 
+import com.amartus.sonata.blender.impl.ProductSpecLoader;
 import com.amartus.sonata.blender.impl.ProductSpecReader;
+import com.amartus.sonata.blender.impl.ResolvedSpecifications;
+import com.amartus.sonata.blender.impl.SchemaCollector;
+import com.amartus.sonata.blender.impl.util.Metrics;
 import com.amartus.sonata.blender.impl.util.PathResolver;
-import com.amartus.sonata.blender.parser.DeserializerProvider;
+import com.github.rvesse.airline.annotations.AirlineModule;
 import com.github.rvesse.airline.annotations.Option;
 import com.github.rvesse.airline.annotations.restrictions.MutuallyExclusiveWith;
 import com.github.rvesse.airline.annotations.restrictions.Once;
 import io.swagger.v3.oas.models.media.Schema;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.commons.lang3.tuple.Triple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,7 +38,6 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -58,7 +59,7 @@ public abstract class AbstractBlend {
     protected String specificationsRootDir = ".";
 
     @Option(name = {"-i", "--input-spec"}, title = "spec file",
-            description = "location of the OpenAPI spec, as URL or file (required)")
+            description = "location of the OpenAPI spec, as URL or file (required). Files in YAML, JSON, Smile or CBOR format are accepted")
     @Once
     protected String spec;
 
@@ -94,80 +95,41 @@ public abstract class AbstractBlend {
     )
     protected boolean autodiscover = false;
 
-    @SuppressWarnings("rawtypes")
-    protected Map<String, Schema> toProductSpecifications() {
-        var config = new ProductSpecReader.Options(modelToAugment, autodiscover);
+    @AirlineModule
+    protected ParallelismOptions parallelismOptions = new ParallelismOptions();
+
+    @AirlineModule
+    protected CacheOptions cacheOptions = new CacheOptions();
+
+    @AirlineModule
+    protected MetricsOptions metricsOptions = new MetricsOptions();
+
+    protected ResolvedSpecifications resolvedSpecifications = null;
 
-        var foundSchemas = toSchemaPaths(blendingSchemas())
-                .map(schema -> {
-                    var resolved = new ProductSpecReader(config,
-                            schema.getLeft(), schema.getRight(),
-                            new DeserializerProvider(), ProductSpecReader.defaultOptions())
-                            .readSchemas();
-                    return Pair.of(schema, resolved);
-                })
-                .collect(Collectors.toList());
-
-        validateResolvedSchemas(foundSchemas);
-
-        var allSchemas = foundSchemas.stream().flatMap(it -> it.getRight().entrySet().stream());
-
-        return allSchemas
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> {
-                    if (a.equals(b)) return a;
-                    throw new IllegalArgumentException(String.format("Object for the same key does not match %s %s", a, b));
-                }));
+    protected Metrics metrics = Metrics.disabled();
+
+    protected void startMetrics() {
+        metrics = metricsOptions.start();
     }
 
-    Function<Pair<Path, String>, String> toPointer = it -> {
-        var path = it.getLeft().toAbsolutePath().toString();
-        var schema = it.getRight();
-        return StringUtils.isBlank(schema) ? path :  path + "#" + schema;
-    };
-
-    private void validateResolvedSchemas(List<Pair<Pair<Path, String>, Map<String, Schema<?>>>> foundSchemas) {
-        var byKeys = foundSchemas.stream()
-                .flatMap(it -> {
-                    var key = it.getLeft();
-                    return it.getRight().entrySet().stream()
-                            .map(e -> Triple.of(e.getKey(), e.getValue(), key));
-                }).collect(Collectors.groupingBy(Triple::getLeft));
-
-        List<String> messages = byKeys.entrySet().stream()
-                .filter(it -> it.getValue().size() > 1)
-                .map(it -> {
-                    var groups = it.getValue().stream().collect(Collectors.groupingBy(
-                            Triple::getMiddle,
-                            Collectors.mapping(t -> toPointer.apply((Pair<Path, String>) t.getRight()), Collectors.toList())
-                    ));
-
-                    var strings = groups.values().stream().map(list -> String.join("\n", list)).collect(Collectors.toList());
-                    return Pair.of(it.getKey(), strings);
-                })
-                .peek(this::logReferencingFiles)
-                .filter(it -> ((List<String>)it.getValue()).size() > 1)
-                .map(it -> {
-                    var groupsCount =  it.getValue().size();
-                    StringBuilder sb = new StringBuilder();
-                    var idx = 1;
-
-                    for(var group : it.getValue()) {
-                        sb.append(String.format("Group %d:\n%s\n", idx++, group));
-                    }
-
-                    return String.format("Schema %s defined  %d times and referenced from files groups:\n%s",
-                            it.getKey(), groupsCount,
-                            sb);
-                })
-                .collect(Collectors.toList());
-        if(messages.isEmpty()) return;
-
-        throw new IllegalArgumentException(String.format("Found conflicting schema definitions\n %s", String.join("\n", messages)));
+    protected void reportMetrics() {
+        metricsOptions.report(metrics);
     }
 
-    private void logReferencingFiles(Pair<String, List<String>> it) {
-        var files = String.join("\n", ((List<String>) it.getValue()));
-        log.debug("Schema {} found in files:\n{}", it.getKey(), files);
+    @SuppressWarnings("rawtypes")
+    protected Map<String, Schema> toProductSpecifications() {
+        var config = new ProductSpecReader.Options(modelToAugment, autodiscover);
+        var collector = new SchemaCollector();
+
+        new ProductSpecLoader(config)
+                .parallelism(parallelismOptions.get())
+                .cache(cacheOptions.specifications())
+                .shared(resolvedSpecifications)
+                .lowMemory(cacheOptions.lowMemory())
+                .metrics(metrics)
+                .load(toSchemaPaths(blendingSchemas()).collect(Collectors.toList()), collector::add);
+
+        return collector.schemas();
     }
 
     protected Stream<Pair<Path, String>> toSchemaPaths(Stream<String> path) {
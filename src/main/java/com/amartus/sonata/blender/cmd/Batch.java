@@ -0,0 +1,173 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.cmd;
+
+import com.amartus.sonata.blender.Blender;
+import com.amartus.sonata.blender.impl.ResolvedSpecifications;
+import com.amartus.sonata.blender.impl.util.BaseOasCache;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.rvesse.airline.annotations.Command;
+import com.github.rvesse.airline.annotations.AirlineModule;
+import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.Once;
+import com.github.rvesse.airline.annotations.restrictions.Required;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs several blend jobs in one process.
+ * Product specifications used by many jobs are resolved once and each job works on its own copy.
+ */
+@Command(name = "batch", description = "Run blend jobs described in a manifest file in a single process.")
+public class Batch implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(Batch.class);
+
+    @Option(name = {"-c", "--manifest"},
+            title = "manifest file",
+            description = "YAML or JSON file with a list of blend jobs")
+    @Required
+    @Once
+    protected String manifest;
+
+    @AirlineModule
+    protected ParallelismOptions parallelismOptions = new ParallelismOptions();
+
+    @AirlineModule
+    protected CacheOptions cacheOptions = new CacheOptions();
+
+    @Override
+    public void run() {
+        var jobs = readManifest();
+        var directory = Path.of(manifest).toAbsolutePath().getParent();
+        var shared = new ResolvedSpecifications();
+        BaseOasCache.instance().enable();
+
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < jobs.jobs.size(); i++) {
+            var job = jobs.jobs.get(i);
+            var name = job.output != null ? job.output : "job " + (i + 1);
+            try {
+                var blend = toBlend(directory, jobs, job);
+                blend.resolvedSpecifications = shared;
+                log.info("Running {}", name);
+                blend.run();
+            } catch (RuntimeException e) {
+                log.error("Job {} failed", name, e);
+                failed.add(name);
+            }
+        }
+        log.info("Executed {} jobs using {} resolved product specifications", jobs.jobs.size(), shared.size());
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("Failed jobs: " + String.join(", ", failed));
+        }
+    }
+
+    private Manifest readManifest() {
+        var mapper = new ObjectMapper(new YAMLFactory())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+        try {
+            var result = mapper.readValue(Path.of(manifest).toFile(), Manifest.class);
+            if (result.jobs == null || result.jobs.isEmpty()) {
+                throw new IllegalArgumentException("No jobs defined in " + manifest);
+            }
+            return result;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read manifest " + manifest, e);
+        }
+    }
+
+    /**
+     * Build a blend command for a job. Relative paths in the manifest are relative to the manifest directory.
+     */
+    private Blend toBlend(Path directory, Manifest manifest, Job job) {
+        var args = new ArrayList<String>();
+        args.add("blend");
+        add(args, "-i", resolve(directory, job.input));
+        add(args, "-o", resolve(directory, job.output));
+        add(args, "-m", job.model);
+        add(args, "-d", resolve(directory, job.specRootDir != null ? job.specRootDir : manifest.specRootDir));
+        add(args, "-all", job.allSchemas);
+        add(args, "--path-security", job.pathSecurity);
+        add(args, "--cache-dir", cacheOptions.dir());
+        flag(args, "--low-memory", cacheOptions.lowMemory());
+        add(args, "--parallelism", String.valueOf(parallelismOptions.get()));
+        add(args, "--postprocess-parallelism", String.valueOf(parallelismOptions.postprocessing()));
+        if (job.blend != null) {
+            job.blend.forEach(b -> add(args, "-b", b));
+        }
+        flag(args, "-discover", job.autodiscover);
+        flag(args, "--strict-mode", job.strict);
+        flag(args, "--sorted", job.sorted);
+        flag(args, "--validate", job.validate);
+        flag(args, "--no-resolve-external", job.resolveExternal != null && !job.resolveExternal);
+        flag(args, "-f", job.force != null ? job.force : manifest.force);
+
+        var command = Blender.builder().build().parse(args.toArray(String[]::new));
+        return (Blend) command;
+    }
+
+    private static String resolve(Path directory, String path) {
+        if (path == null || path.contains("://")) {
+            return path;
+        }
+        return directory.resolve(path).normalize().toString();
+    }
+
+    private static void add(List<String> args, String option, String value) {
+        if (value != null) {
+            args.add(option);
+            args.add(value);
+        }
+    }
+
+    private static void flag(List<String> args, String option, Boolean value) {
+        if (Boolean.TRUE.equals(value)) {
+            args.add(option);
+        }
+    }
+
+    static class Manifest {
+        public String specRootDir;
+        public Boolean force;
+        public List<Job> jobs;
+    }
+
+    static class Job {
+        public String input;
+        public String output;
+        public String model;
+        public String specRootDir;
+        public List<String> blend;
+        public String allSchemas;
+        public Boolean autodiscover;
+        public Boolean strict;
+        public Boolean sorted;
+        public Boolean validate;
+        public Boolean resolveExternal;
+        public String pathSecurity;
+        public Boolean force;
+    }
+}
@@ -24,9 +24,11 @@ import com.amartus.sonata.blender.impl.SpecValidator;
 import com.amartus.sonata.blender.impl.postprocess.ComposedPostprocessor;
 import com.amartus.sonata.blender.impl.postprocess.SecureEndpointsWithOAuth2;
 import com.amartus.sonata.blender.impl.postprocess.SortTypesByName;
+import com.amartus.sonata.blender.impl.util.BaseOasCache;
 import com.amartus.sonata.blender.impl.util.IdSchemaResolver;
-import com.amartus.sonata.blender.impl.util.OasUtils;
+import com.amartus.sonata.blender.impl.util.OasWriter;
 import com.amartus.sonata.blender.impl.util.SerializationUtils;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.github.rvesse.airline.annotations.Command;
 import com.github.rvesse.airline.annotations.Option;
 import com.github.rvesse.airline.annotations.restrictions.AllowedEnumValues;
@@ -37,7 +39,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -95,22 +96,25 @@ public class Blend extends AbstractBlend implements Runnable {
 
     @Override
     public void run() {
-        if (allSchemas != null) {
-            blendedSchema = findAllProductSpecifications(allSchemas);
+        startMetrics();
+        metrics.phase("discovery", () -> {
+            if (allSchemas != null) {
+                blendedSchema = findAllProductSpecifications(allSchemas);
 
-        } else {
-            blendedSchema = blendingSchemas().collect(Collectors.toList());
-        }
+            } else {
+                blendedSchema = blendingSchemas().collect(Collectors.toList());
+            }
 
-        validateProductSpecs();
+            validateProductSpecs();
+        });
         OpenAPI openAPI;
         try {
-            openAPI = OasUtils.readOas(this.spec, ! dontResolveExternalRefs);
+            openAPI = metrics.phase("read-base-oas", () -> BaseOasCache.instance().read(this.spec, ! dontResolveExternalRefs));
         } catch (Exception e) {
-            return;
+            throw new IllegalArgumentException("Cannot read API specification " + this.spec, e);
         }
 
-        Map<String, Schema> schemasToInject = this.toProductSpecifications();
+        Map<String, Schema> schemasToInject = metrics.phase("resolve", this::toProductSpecifications);
 
         log.debug("Injecting {} schemas from {} payload spec descriptions",
                 schemasToInject.size(), blendedSchema.size());
@@ -118,7 +122,8 @@ public class Blend extends AbstractBlend implements Runnable {
         var blending = new BlendingService(openAPI, schemasToInject)
                 .modelToAugment(modelToAugment)
                 .mode(strict ? MergeSchemasAction.Mode.STRICT : MergeSchemasAction.Mode.FIX)
-                .postprocessor(new ComposedPostprocessor());
+                .metrics(metrics)
+                .postprocessor(new ComposedPostprocessor(parallelismOptions.postprocessing()).metrics(metrics));
 
         configureSecurityDefinitions(blending);
 
@@ -126,31 +131,40 @@ public class Blend extends AbstractBlend implements Runnable {
             blending.postprocessor(new SortTypesByName());
         }
 
+        var blended = blending.blend();
 
-        var mapper = SerializationUtils.yamlMapper();
-
-        openAPI = blending.blend();
+        // the validated tree is written as is, so the model is serialized only once
+        JsonNode document = validateOutput ? metrics.phase("validate", () -> validate(blended)) : null;
 
-        if(validateOutput) {
+        metrics.phase("write", () -> {
             try {
-                var issues = SpecValidator.fromClasspath().validate(openAPI);
-                if(issues.isEmpty()) {
-                    log.info("Output is compliant with the schema");
+                File output = output();
+                log.info("Writing to {}", output);
+                if (document != null) {
+                    OasWriter.yaml().write(document, output.toPath());
                 } else {
-                    log.warn("There are issues found in OAS schema");
-                    issues.forEach(i -> log.warn("Issue: {}", i.getMessage()));
+                    OasWriter.yaml().write(blended, output.toPath());
                 }
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IllegalStateException("Error writing file", e);
             }
-        }
+        });
+        reportMetrics();
+    }
 
+    private JsonNode validate(OpenAPI openAPI) {
         try {
-            File output = output();
-            log.info("Writing to {}", output);
-            mapper.writeValue(new FileWriter(output), openAPI);
-        } catch (IOException | IllegalArgumentException e) {
-            throw new IllegalStateException("Error writing file", e);
+            var document = SerializationUtils.toTree(openAPI);
+            var issues = SpecValidator.fromClasspath().validate(document, parallelismOptions.get());
+            if(issues.isEmpty()) {
+                log.info("Output is compliant with the schema");
+            } else {
+                log.warn("There are issues found in OAS schema");
+                issues.forEach(i -> log.warn("Issue: {}", i));
+            }
+            return document;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
     }
 
@@ -168,8 +182,11 @@ public class Blend extends AbstractBlend implements Runnable {
     }
 
     private List<String> findAllProductSpecifications(String allSchemas) {
+        var root = Path.of(specificationsRootDir);
         return new IdSchemaResolver(allSchemas)
-                .findProductSpecifications(Path.of(specificationsRootDir)).stream()
+                .parallelism(parallelismOptions.get())
+                .index(cacheOptions.discoveryIndex(root))
+                .findProductSpecifications(root).stream()
                 .map(Path::toString)
                 .collect(Collectors.toList());
     }
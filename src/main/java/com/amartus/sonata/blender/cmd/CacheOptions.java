@@ -0,0 +1,69 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.cmd;
+
+import com.amartus.sonata.blender.impl.ProductSpecCache;
+import com.amartus.sonata.blender.impl.util.DiscoveryIndex;
+import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.Once;
+
+import java.nio.file.Path;
+
+/**
+ * {@code --cache-dir} and {@code --low-memory} options shared by commands resolving product specifications.
+ */
+public class CacheOptions {
+    @Option(name = {"--cache-dir"},
+            title = "cache directory",
+            description = "Directory used to keep resolved product specifications and discovery index between runs. " +
+                    "Specifications are resolved again only if any of the files they use has changed."
+    )
+    @Once
+    protected String cacheDir = null;
+
+    @Option(name = {"--low-memory"},
+            title = "low memory mode",
+            description = "Resolve product specifications keeping as little as possible in memory, at the cost of some speed. " +
+                    "Use for large sets of product specifications."
+    )
+    @Once
+    protected boolean lowMemory = false;
+
+    public String dir() {
+        return cacheDir;
+    }
+
+    public boolean lowMemory() {
+        return lowMemory;
+    }
+
+    /**
+     * @return cache of resolved product specifications or null if no cache directory is configured
+     */
+    public ProductSpecCache specifications() {
+        return cacheDir == null ? null : new ProductSpecCache(Path.of(cacheDir));
+    }
+
+    /**
+     * @param root root directory of product specifications
+     * @return discovery index of the root directory or null if no cache directory is configured
+     */
+    public DiscoveryIndex discoveryIndex(Path root) {
+        return cacheDir == null ? null : DiscoveryIndex.load(Path.of(cacheDir), root);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.cmd;
+
+import com.amartus.sonata.blender.impl.util.OasFormat;
+import com.amartus.sonata.blender.impl.util.OasUtils;
+import com.amartus.sonata.blender.impl.util.OasWriter;
+import com.github.rvesse.airline.annotations.Command;
+import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.AllowedEnumValues;
+import com.github.rvesse.airline.annotations.restrictions.Once;
+import com.github.rvesse.airline.annotations.restrictions.Required;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Converts OAS documents between formats, e.g. binary merge output back to YAML.
+ */
+@Command(name = "convert", description = "Convert OAS document between YAML, JSON, Smile and CBOR formats.")
+public class Convert implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(Convert.class);
+
+    @Option(name = {"-i", "--input"},
+            title = "input file",
+            description = "Document to convert. Format is detected from the content.")
+    @Required
+    @Once
+    protected String input;
+
+    @Option(name = {"-o", "--output"},
+            title = "Output file name",
+            description = "Output file name. Throws exception if file exists.")
+    @Required
+    @Once
+    protected String outputFile;
+
+    @Option(name = {"--format"},
+            title = "output format",
+            description = "Format of the output document. Default is yaml.")
+    @AllowedEnumValues(OasFormat.class)
+    @Once
+    protected OasFormat format = OasFormat.yaml;
+
+    @Option(name = {"-f", "--force-override"},
+            title = "Override output if exist")
+    @Once
+    protected boolean forceWrite = false;
+
+    @Override
+    public void run() {
+        var output = Path.of(outputFile);
+        if (Files.exists(output) && !forceWrite) {
+            log.warn("Output: {} exists. please add force flag if you want to override it.", output.toAbsolutePath());
+            throw new IllegalArgumentException("Cannot override " + output);
+        }
+        var openAPI = OasUtils.readOas(input, false);
+        try {
+            log.info("Writing {} to {}", format, output.toAbsolutePath());
+            OasWriter.of(format).write(openAPI, output);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error writing file", e);
+        }
+    }
+}
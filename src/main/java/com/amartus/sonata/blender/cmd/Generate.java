@@ -18,10 +18,12 @@
 package com.amartus.sonata.blender.cmd;
 
 import com.amartus.sonata.blender.impl.MergeSchemasAction;
+import com.amartus.sonata.blender.impl.events.PostprocessorEvent;
 import com.amartus.sonata.blender.impl.postprocess.*;
 import com.github.rvesse.airline.annotations.Command;
 import com.github.rvesse.airline.annotations.Option;
 import com.github.rvesse.airline.annotations.restrictions.Once;
+import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.Schema;
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.ClientOptInput;
@@ -34,6 +36,8 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * @author bartosz.michalik@amartus.com
@@ -61,17 +65,19 @@ public class Generate extends AbstractBlend implements Runnable {
         log.debug("Will generate artifacts using '{}' configuration", configFile);
 
 
+        startMetrics();
         validateProductSpecs();
 
-        Map<String, Schema> productSchemas = toProductSpecifications();
+        Map<String, Schema> productSchemas = metrics.phase("resolve", this::toProductSpecifications);
 
         if (StringUtils.isNotBlank(spec)) {
             configurator.setInputSpec(spec);
         }
 
         try {
-            final ClientOptInput clientOptInput = configurator.toClientOptInput();
+            final ClientOptInput clientOptInput = metrics.phase("read-base-oas", configurator::toClientOptInput);
             new AmartusGenerator(productSchemas).opts(clientOptInput).generate();
+            reportMetrics();
         } catch (GeneratorNotFoundException e) {
             log.error("Error in wrapper configuration", e);
             System.exit(1);
@@ -93,22 +99,25 @@ public class Generate extends AbstractBlend implements Runnable {
             log.debug("Injecting {} schemas from {} specification descriptions",
                     schemasToInject.size(), blendedSchema.size());
 
-            new MergeSchemasAction(modelToAugment, strict ? MergeSchemasAction.Mode.STRICT : MergeSchemasAction.Mode.FIX)
+            metrics.phase("merge", () -> new MergeSchemasAction(modelToAugment, strict ? MergeSchemasAction.Mode.STRICT : MergeSchemasAction.Mode.FIX)
                     .schemasToInject(schemasToInject)
                     .target(this.openAPI)
-                    .execute();
-
-            new RemoveSuperflousTypeDeclarations().accept(openAPI);
-            new PropertyEnumExternalize().accept(openAPI);
-            new ComposedPropertyToType().accept(openAPI);
-            new SingleEnumToDiscriminatorValue().accept(openAPI);
-            new ConvertOneOfToAllOffInheritance().accept(openAPI);
-            new UpdateDiscriminatorMapping().accept(openAPI);
-            new ConstrainDiscriminatorValueWithEnum().accept(openAPI);
+                    .execute());
+
+            metrics.phase("postprocess", () -> Stream.<Consumer<OpenAPI>>of(
+                    new RemoveSuperflousTypeDeclarations(),
+                    new PropertyEnumExternalize(),
+                    new ComposedPropertyToType(),
+                    new SingleEnumToDiscriminatorValue(),
+                    new ConvertOneOfToAllOffInheritance(),
+                    new UpdateDiscriminatorMapping(),
+                    new ConstrainDiscriminatorValueWithEnum()
+            ).forEach(p -> metrics.exclusive("postprocess", p.getClass().getSimpleName(),
+                    PostprocessorEvent.recorded(p.getClass().getSimpleName(), openAPI, () -> p.accept(openAPI)))));
 
 //            new AlignTypeCompositionWithOasTools().accept(openAPI);
 
-            return super.generate();
+            return metrics.phase("codegen", super::generate);
         }
 
 
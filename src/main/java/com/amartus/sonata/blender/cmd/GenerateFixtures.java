@@ -0,0 +1,117 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.amartus.sonata.blender.cmd;
+
+import com.amartus.sonata.blender.impl.util.CatalogGenerator;
+import com.github.rvesse.airline.annotations.Command;
+import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.Once;
+import com.github.rvesse.airline.annotations.restrictions.Required;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Generates a synthetic product specification catalog to reproduce scaling behavior of blend and merge.
+ */
+@Command(name = "generate-fixtures", hidden = true,
+        description = "Generate synthetic MEF-like product specifications and a base OAS for scale testing.")
+public class GenerateFixtures implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(GenerateFixtures.class);
+
+    @Option(name = {"-o", "--output"},
+            title = "output directory",
+            description = "Directory to write the catalog to. It has to be empty or not exist.")
+    @Required
+    @Once
+    protected String output;
+
+    @Option(name = {"--products"}, description = "Number of product specifications. Default 100.")
+    @Once
+    protected int products = 100;
+
+    @Option(name = {"--types-per-product"}, description = "Number of local types in each product specification. Default 5.")
+    @Once
+    protected int typesPerProduct = 5;
+
+    @Option(name = {"--properties-per-type"}, description = "Number of properties in each type. Default 6.")
+    @Once
+    protected int propertiesPerType = 6;
+
+    @Option(name = {"--libraries"}, description = "Number of common libraries. Default 2.")
+    @Once
+    protected int libraries = 2;
+
+    @Option(name = {"--common-types"}, description = "Number of types in each common library. Default 50.")
+    @Once
+    protected int commonTypes = 50;
+
+    @Option(name = {"--enum-values"}, description = "Number of values of each enum. Default 8.")
+    @Once
+    protected int enumValues = 8;
+
+    @Option(name = {"--all-of-depth"}, description = "Length of allOf chain in each product specification. Default 3.")
+    @Once
+    protected int allOfDepth = 3;
+
+    @Option(name = {"--one-of-variants"}, description = "Number of oneOf variants in each product specification. Default 3.")
+    @Once
+    protected int oneOfVariants = 3;
+
+    @Option(name = {"--seed"}, description = "Seed of the generator. The same seed and sizes give the same catalog.")
+    @Once
+    protected long seed = 1;
+
+    @Override
+    public void run() {
+        var root = Path.of(output);
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> content = Files.list(root)) {
+                if (content.findAny().isPresent()) {
+                    throw new IllegalArgumentException(root + " is not empty");
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read " + root, e);
+            }
+        }
+        try {
+            var catalog = new CatalogGenerator()
+                    .products(products)
+                    .typesPerProduct(typesPerProduct)
+                    .propertiesPerType(propertiesPerType)
+                    .libraries(libraries)
+                    .commonTypes(commonTypes)
+                    .enumValues(enumValues)
+                    .allOfDepth(allOfDepth)
+                    .oneOfVariants(oneOfVariants)
+                    .seed(seed)
+                    .generate(root);
+            log.info("Generated {} product specifications in {}", catalog.getProductSpecifications().size(), root.toAbsolutePath());
+            log.info("Blend them with: blend -i {} -d {} -all all -m {}",
+                    catalog.getBaseOas(), catalog.getRoot(), CatalogGenerator.MODEL_TO_AUGMENT);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error writing catalog", e);
+        }
+    }
+}
@@ -19,15 +19,20 @@
 package com.amartus.sonata.blender.cmd;
 
 import com.amartus.sonata.blender.impl.MergeSchemasAction;
+import com.amartus.sonata.blender.impl.ProductSpecLoader;
 import com.amartus.sonata.blender.impl.ProductSpecReader;
+import com.amartus.sonata.blender.impl.SchemaCollector;
 import com.amartus.sonata.blender.impl.postprocess.ComposedPostprocessor;
 import com.amartus.sonata.blender.impl.postprocess.SortTypesByName;
 import com.amartus.sonata.blender.impl.util.IdSchemaResolver;
+import com.amartus.sonata.blender.impl.util.Metrics;
+import com.amartus.sonata.blender.impl.util.OasFormat;
+import com.amartus.sonata.blender.impl.util.OasWriter;
 import com.amartus.sonata.blender.impl.util.PathResolver;
-import com.amartus.sonata.blender.impl.util.SerializationUtils;
-import com.amartus.sonata.blender.parser.DeserializerProvider;
 import com.github.rvesse.airline.annotations.Command;
+import com.github.rvesse.airline.annotations.AirlineModule;
 import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.AllowedEnumValues;
 import com.github.rvesse.airline.annotations.restrictions.Once;
 import com.github.rvesse.airline.annotations.restrictions.RequireOnlyOne;
 import com.github.rvesse.airline.annotations.restrictions.Required;
@@ -38,7 +43,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -108,29 +112,55 @@ public class Merge implements Runnable {
     )
     protected boolean autodiscover = false;
 
-    @Override
-    public void run() {
-        OpenAPI openAPI = prepareOas();
+    @AirlineModule
+    protected ParallelismOptions parallelismOptions = new ParallelismOptions();
 
-        new MergeSchemasAction(modelToAugment, MergeSchemasAction.Mode.FIX)
-                .schemasToInject(toProductSpecifications())
-                .target(openAPI)
-                .execute();
+    @Option(name = {"--format"},
+            title = "output format",
+            description = "Format of the output document. Binary formats (smile, cbor) are compact and fast to read " +
+                    "by the blend and generate input option. Use the convert command to get YAML back. Default is yaml."
+    )
+    @AllowedEnumValues(OasFormat.class)
+    @Once
+    protected OasFormat format = OasFormat.yaml;
 
-        new ComposedPostprocessor().accept(openAPI);
-        if (sorted) {
-            new SortTypesByName().accept(openAPI);
-        }
+    @AirlineModule
+    protected CacheOptions cacheOptions = new CacheOptions();
 
-        var mapper = SerializationUtils.yamlMapper();
+    @AirlineModule
+    protected MetricsOptions metricsOptions = new MetricsOptions();
 
-        try {
-            File output = output();
-            log.info("Writing to {}", output.toPath().toAbsolutePath());
-            mapper.writeValue(new FileWriter(output), openAPI);
-        } catch (IOException | IllegalArgumentException e) {
-            throw new IllegalStateException("Error writing file", e);
-        }
+    private Metrics metrics = Metrics.disabled();
+
+    @Override
+    public void run() {
+        metrics = metricsOptions.start();
+        // merge has no base file, the phase keeps reports of blend and merge comparable
+        OpenAPI openAPI = metrics.phase("read-base-oas", () -> prepareOas());
+
+        var schemasToInject = toProductSpecifications();
+        metrics.phase("merge", () -> new MergeSchemasAction(modelToAugment, MergeSchemasAction.Mode.FIX)
+                .schemasToInject(schemasToInject)
+                .target(openAPI)
+                .execute());
+
+        metrics.phase("postprocess", () -> {
+            new ComposedPostprocessor(parallelismOptions.postprocessing()).metrics(metrics).accept(openAPI);
+            if (sorted) {
+                new SortTypesByName().accept(openAPI);
+            }
+        });
+
+        metrics.phase("write", () -> {
+            try {
+                File output = output();
+                log.info("Writing to {}", output.toPath().toAbsolutePath());
+                OasWriter.of(format).write(openAPI, output.toPath());
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IllegalStateException("Error writing file", e);
+            }
+        });
+        metricsOptions.report(metrics);
     }
 
     private OpenAPI prepareOas() {
@@ -159,22 +189,29 @@ public class Merge implements Runnable {
     protected Map<String, Schema> toProductSpecifications() {
         var resolver = new PathResolver(schemasRoot);
         if (allSchemas != null) {
-            blendedSchema = new IdSchemaResolver(allSchemas)
-                    .findProductSpecifications(Path.of(schemasRoot))
+            var root = Path.of(schemasRoot);
+            blendedSchema = metrics.phase("discovery", () -> new IdSchemaResolver(allSchemas)
+                    .parallelism(parallelismOptions.get())
+                    .index(cacheOptions.discoveryIndex(root))
+                    .findProductSpecifications(root)
                     .stream()
                     .map(Path::toString)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toList()));
         }
 
-        var paths = resolver.toSchemaPaths(blendedSchema.stream());
+        var paths = resolver.toSchemaPaths(blendedSchema.stream()).collect(Collectors.toList());
 
         var config = new ProductSpecReader.Options(modelToAugment, autodiscover);
 
-        return paths
-                .flatMap(schema -> new ProductSpecReader(config, schema.getLeft(), schema.getRight(), new DeserializerProvider(), ProductSpecReader.defaultOptions()).readSchemas().entrySet().stream())
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> {
-                    if (a.equals(b)) return a;
-                    throw new IllegalArgumentException(String.format("Object for the same key does not match %s %s", a, b));
-                }));
+        return metrics.phase("resolve", () -> {
+            var collector = new SchemaCollector();
+            new ProductSpecLoader(config)
+                    .parallelism(parallelismOptions.get())
+                    .cache(cacheOptions.specifications())
+                    .lowMemory(cacheOptions.lowMemory())
+                    .metrics(metrics)
+                    .load(paths, collector::add);
+            return collector.schemas();
+        });
     }
 }
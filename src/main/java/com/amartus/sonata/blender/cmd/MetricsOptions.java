@@ -0,0 +1,68 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.cmd;
+
+import com.amartus.sonata.blender.impl.util.Metrics;
+import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.Once;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * {@code --metrics} and {@code --metrics-report} options shared by commands recording metrics.
+ */
+public class MetricsOptions {
+    @Option(name = {"--metrics"},
+            title = "print metrics",
+            description = "Print wall time, CPU time and allocated bytes of each phase, post-processor and of the slowest product specifications."
+    )
+    @Once
+    protected boolean printMetrics = false;
+
+    @Option(name = {"--metrics-report"},
+            title = "metrics report file",
+            description = "Write wall time, CPU time and allocated bytes of each phase, post-processor and product specification to a JSON file."
+    )
+    @Once
+    protected String metricsReport = null;
+
+    /**
+     * @return metrics, enabled only if they are printed or reported
+     */
+    public Metrics start() {
+        return Metrics.of(printMetrics || metricsReport != null);
+    }
+
+    /**
+     * Print metrics and write the report if requested
+     * @param metrics metrics to report
+     */
+    public void report(Metrics metrics) {
+        if (printMetrics) {
+            metrics.print(System.out);
+        }
+        if (metricsReport != null) {
+            try {
+                metrics.write(Path.of(metricsReport));
+            } catch (IOException e) {
+                throw new IllegalStateException("Error writing metrics report", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.cmd;
+
+import com.amartus.sonata.blender.impl.ProductSpecLoader;
+import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.Once;
+import com.github.rvesse.airline.annotations.restrictions.ranges.IntegerRange;
+
+/**
+ * {@code --parallelism} and {@code --postprocess-parallelism} options shared by commands resolving product specifications.
+ */
+public class ParallelismOptions {
+    @Option(name = {"--parallelism"},
+            title = "number of threads",
+            description = "Number of files checked during discovery and product specifications resolved concurrently. By default number of available processors is used."
+    )
+    @IntegerRange(min = 1)
+    @Once
+    protected int parallelism = ProductSpecLoader.defaultParallelism();
+
+    @Option(name = {"--postprocess-parallelism"},
+            title = "number of threads",
+            description = "Number of threads running independent OAS post-processors concurrently. " +
+                    "Most post-processors depend on each other, so default is 1 (post-processors run one by one)."
+    )
+    @IntegerRange(min = 1)
+    @Once
+    protected int postprocessParallelism = 1;
+
+    public int get() {
+        return parallelism;
+    }
+
+    public int postprocessing() {
+        return postprocessParallelism;
+    }
+}
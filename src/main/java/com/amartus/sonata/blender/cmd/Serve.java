@@ -0,0 +1,305 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.cmd;
+
+import com.amartus.sonata.blender.Blender;
+import com.amartus.sonata.blender.impl.util.BaseOasCache;
+import com.amartus.sonata.blender.impl.util.NamedThreadFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rvesse.airline.annotations.Command;
+import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.Once;
+import com.github.rvesse.airline.annotations.restrictions.ranges.IntegerRange;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local server executing blend and merge requests.
+ * The server listens on the loopback interface only and accepts requests authenticated with a random token,
+ * which is written to a file readable by the owner only. Requests have to be JSON POSTs without an {@code Origin}
+ * header and with a loopback {@code Host}, so web pages opened in a browser cannot issue them.
+ */
+@Command(name = "serve", description = "Run a local server executing blend and merge requests in a warm process.")
+public class Serve implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(Serve.class);
+    private static final Set<String> PATH_OPTIONS = Set.of(
+            "-i", "--input-spec", "-o", "--output", "-d", "--spec-root-dir", "--cache-dir", "--metrics-report");
+    private static final Set<String> ROOT_OPTIONS = Set.of("-d", "--spec-root-dir");
+    private static final Set<String> LOOPBACK_HOSTS = Set.of("localhost", "127.0.0.1", "[::1]");
+
+    @Option(name = {"-p", "--port"},
+            title = "port",
+            description = "Port to listen on. Server is bound to the loopback interface only. Default is 7878."
+    )
+    @IntegerRange(min = 0, max = 65535)
+    @Once
+    protected int port = 7878;
+
+    @Option(name = {"--token-file"},
+            title = "token file",
+            description = "File the access token is written to, readable by the owner only. " +
+                    "Requests have to send it in the 'Authorization: Bearer <token>' header. Default is ~/.blender/serve.token."
+    )
+    @Once
+    protected String tokenFile = Path.of(System.getProperty("user.home"), ".blender", "serve.token").toString();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private HttpServer server;
+    private String token;
+
+    @Override
+    public void run() {
+        try {
+            start();
+            stopped.await();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot start server on port " + port, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stop();
+        }
+    }
+
+    /**
+     * Start the server without blocking
+     * @return bound address
+     * @throws IOException if server cannot be started or the token cannot be written
+     */
+    InetSocketAddress start() throws IOException {
+        token = writeToken(Path.of(tokenFile));
+        BaseOasCache.instance().enable();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        // requests are executed one by one, commands are not designed to run concurrently
+        server.setExecutor(Executors.newSingleThreadExecutor(new NamedThreadFactory("blender-server")));
+        server.createContext("/blend", exchange -> execute(exchange, "blend"));
+        server.createContext("/merge", exchange -> execute(exchange, "merge"));
+        server.createContext("/shutdown", exchange -> {
+            if (authorized(exchange)) {
+                respond(exchange, 200, "Stopping");
+                stopped.countDown();
+            }
+        });
+        server.start();
+        log.info("Listening on {}, access token written to {}", server.getAddress(), tokenFile);
+        return server.getAddress();
+    }
+
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+            ((ExecutorService) server.getExecutor()).shutdownNow();
+            server = null;
+            try {
+                Files.deleteIfExists(Path.of(tokenFile));
+            } catch (IOException e) {
+                log.warn("Cannot remove token file {}", tokenFile);
+            }
+        }
+    }
+
+    /**
+     * Wait for a shutdown request
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return true if shutdown was requested
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitShutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        return stopped.await(timeout, unit);
+    }
+
+    private void execute(HttpExchange exchange, String command) throws IOException {
+        if (!authorized(exchange)) {
+            return;
+        }
+        Runnable toRun;
+        try (InputStream in = exchange.getRequestBody()) {
+            var request = mapper.readValue(in, Request.class);
+            var args = new ArrayList<String>();
+            args.add(command);
+            args.addAll(resolve(request));
+            toRun = Blender.builder().build().parse(args.toArray(String[]::new));
+        } catch (Exception e) {
+            respond(exchange, 400, e.getMessage());
+            return;
+        }
+        if (!(toRun instanceof Blend || toRun instanceof Merge)) {
+            respond(exchange, 400, "Not a " + command + " request");
+            return;
+        }
+        try {
+            var start = System.nanoTime();
+            toRun.run();
+            log.info("{} executed in {} ms", command, (System.nanoTime() - start) / 1_000_000);
+            respond(exchange, 200, "OK");
+        } catch (Exception e) {
+            log.error("Error:", e);
+            respond(exchange, 500, e.getMessage());
+        }
+    }
+
+    private boolean authorized(HttpExchange exchange) throws IOException {
+        var headers = exchange.getRequestHeaders();
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "Use POST with a JSON request");
+            return false;
+        }
+        if (headers.containsKey("Origin") || !isLoopback(headers.getFirst("Host"))) {
+            respond(exchange, 403, "Requests from browsers and remote hosts are not accepted");
+            return false;
+        }
+        var authorization = Optional.ofNullable(headers.getFirst("Authorization")).orElse("");
+        var expected = "Bearer " + token;
+        if (!MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), authorization.getBytes(StandardCharsets.UTF_8))) {
+            respond(exchange, 401, "Missing or wrong access token");
+            return false;
+        }
+        var contentType = Optional.ofNullable(headers.getFirst("Content-Type")).orElse("");
+        if (!contentType.toLowerCase(Locale.ROOT).startsWith("application/json")) {
+            respond(exchange, 415, "Use application/json content type");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isLoopback(String host) {
+        if (host == null) {
+            return false;
+        }
+        var port = ":" + server.getAddress().getPort();
+        var name = host.endsWith(port) ? host.substring(0, host.length() - port.length()) : host;
+        return LOOPBACK_HOSTS.contains(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Resolve relative paths of path options against the client working directory,
+     * as the server working directory is not related to the client one.
+     * @param request client request
+     * @return command arguments
+     */
+    static List<String> resolve(Request request) {
+        var args = Optional.ofNullable(request.args).orElse(List.of());
+        Path cwd = null;
+        if (request.cwd != null) {
+            cwd = Path.of(request.cwd);
+            if (!cwd.isAbsolute()) {
+                throw new IllegalArgumentException("Working directory has to be an absolute path: " + request.cwd);
+            }
+        }
+        var result = new ArrayList<String>(args.size() + 2);
+        var hasRoot = false;
+        for (int i = 0; i < args.size(); i++) {
+            var arg = args.get(i);
+            // airline accepts both "--output value" and "--output=value"
+            var separator = arg.startsWith("-") ? arg.indexOf('=') : -1;
+            var option = separator < 0 ? arg : arg.substring(0, separator);
+            if (PATH_OPTIONS.contains(option) && separator >= 0) {
+                hasRoot |= ROOT_OPTIONS.contains(option);
+                result.add(option + "=" + resolve(cwd, option, arg.substring(separator + 1)));
+                continue;
+            }
+            result.add(arg);
+            if (PATH_OPTIONS.contains(arg) && i + 1 < args.size()) {
+                hasRoot |= ROOT_OPTIONS.contains(arg);
+                result.add(resolve(cwd, arg, args.get(++i)));
+            }
+        }
+        if (!hasRoot) {
+            if (cwd == null) {
+                throw new IllegalArgumentException("Send the working directory (cwd) or a specification root directory (-d)");
+            }
+            result.add("-d");
+            result.add(cwd.toString());
+        }
+        return result;
+    }
+
+    private static String resolve(Path cwd, String option, String value) {
+        if (value.contains("://") || Path.of(value).isAbsolute()) {
+            return value;
+        }
+        if (cwd == null) {
+            throw new IllegalArgumentException(String.format("Relative path %s of %s requires the working directory (cwd)", value, option));
+        }
+        return cwd.resolve(value).normalize().toString();
+    }
+
+    private static String writeToken(Path file) throws IOException {
+        var bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        var token = HexFormat.of().formatHex(bytes);
+
+        var directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Files.deleteIfExists(file);
+        try {
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            Files.createFile(file);
+            var owner = file.toFile();
+            if (!(owner.setReadable(false, false) && owner.setReadable(true, true)
+                    && owner.setWritable(false, false) && owner.setWritable(true, true))) {
+                log.warn("Cannot restrict access to {}", file);
+            }
+        }
+        Files.writeString(file, token, StandardCharsets.UTF_8);
+        return token;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String message) throws IOException {
+        var body = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    static class Request {
+        /** Absolute client working directory */
+        public String cwd;
+        /** Command line arguments */
+        public List<String> args;
+    }
+}
@@ -1,5 +1,6 @@
 package com.amartus.sonata.blender.impl;
 
+import com.amartus.sonata.blender.impl.util.Metrics;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.Schema;
 import org.slf4j.Logger;
@@ -19,6 +20,7 @@ public class BlendingService {
     private boolean strict;
     private String modelToAugment;
     private MergeSchemasAction.Mode mode;
+    private Metrics metrics = Metrics.disabled();
 
     /**
      * Input OAS spec that is to be augmented
@@ -46,19 +48,30 @@ public class BlendingService {
         return this;
     }
 
+    /**
+     * @param metrics metrics to record merge and post-processing phases to
+     * @return this
+     */
+    public BlendingService metrics(Metrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
     public OpenAPI blend() {
         if(modelToAugment == null) {
             throw new IllegalStateException("Name of the model to augment is not set");
         }
 
-        new MergeSchemasAction(modelToAugment, mode)
+        metrics.phase("merge", () -> new MergeSchemasAction(modelToAugment, mode)
                 .schemasToInject(schemasToInject)
                 .target(oas)
-                .execute();
+                .execute());
         log.debug("Running postprocessors");
-        for(var p : postprocessors) {
-            p.accept(oas);
-        }
+        metrics.phase("postprocess", () -> {
+            for(var p : postprocessors) {
+                p.accept(oas);
+            }
+        });
         return oas;
     }
 }
@@ -0,0 +1,163 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.impl;
+
+import com.amartus.sonata.blender.impl.util.ModelCodec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * On-disk cache of resolved product specifications.
+ * Entries are keyed by specification location and reader options.
+ * Each entry records content hashes of all local files used during resolution
+ * and is reused only if none of them has changed.
+ * Specifications referencing remote documents are never cached.
+ */
+public class ProductSpecCache {
+    private static final Logger log = LoggerFactory.getLogger(ProductSpecCache.class);
+    private static final String VERSION = "1";
+    private static final TypeReference<Map<String, String>> DEPENDENCIES = new TypeReference<>() {};
+
+    private final Path directory;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public ProductSpecCache(Path directory) {
+        this.directory = directory.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot create cache directory " + directory, e);
+        }
+    }
+
+    /**
+     * Read schemas from the cache or resolve them with the reader and store the result.
+     * @param options reader options
+     * @param specification specification location and fragment
+     * @param reader reader used if there is no valid entry in the cache
+     * @return resolved schemas
+     */
+    public Map<String, Schema<?>> readSchemas(ProductSpecReader.Options options, Pair<Path, String> specification, ProductSpecReader reader) {
+        var key = key(options, specification);
+        var cached = lookup(key);
+        if (cached.isPresent()) {
+            log.debug("Using cached resolution of {}", specification.getLeft());
+            return cached.get();
+        }
+        var schemas = reader.readSchemas();
+        reader.referencedFiles().ifPresentOrElse(
+                files -> store(key, specification.getLeft(), files, schemas),
+                () -> log.debug("{} references remote documents and is not cached", specification.getLeft()));
+        return schemas;
+    }
+
+    Optional<Map<String, Schema<?>>> lookup(String key) {
+        var dependencies = directory.resolve(key + ".deps.json");
+        var schemas = directory.resolve(key + ".schemas.json");
+        if (!Files.isRegularFile(dependencies) || !Files.isRegularFile(schemas)) {
+            return Optional.empty();
+        }
+        try {
+            Map<String, String> hashes = mapper.readValue(dependencies.toFile(), DEPENDENCIES);
+            for (var e : hashes.entrySet()) {
+                if (!e.getValue().equals(hash(Path.of(e.getKey())))) {
+                    log.debug("{} has changed. Cache entry {} is stale", e.getKey(), key);
+                    return Optional.empty();
+                }
+            }
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(schemas))) {
+                return Optional.of(ModelCodec.read(in, ModelCodec.SCHEMAS));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.info("Ignoring unreadable cache entry {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    void store(String key, Path specification, Set<Path> files, Map<String, Schema<?>> schemas) {
+        try {
+            var hashes = new TreeMap<String, String>();
+            hashes.put(specification.toAbsolutePath().normalize().toString(), hash(specification));
+            for (var file : files) {
+                hashes.put(file.toAbsolutePath().normalize().toString(), hash(file));
+            }
+            // dependencies are written last, an entry without them is never used
+            write(directory.resolve(key + ".schemas.json"), out -> ModelCodec.write(schemas, out));
+            write(directory.resolve(key + ".deps.json"), out -> mapper.writeValue(out, hashes));
+        } catch (IOException e) {
+            log.warn("Cannot store cache entry for {}: {}", specification, e.getMessage());
+        }
+    }
+
+    static String key(ProductSpecReader.Options options, Pair<Path, String> specification) {
+        return DigestUtils.sha256Hex(String.join("\n",
+                VERSION,
+                specification.getLeft().toAbsolutePath().normalize().toString(),
+                Optional.ofNullable(specification.getRight()).orElse(""),
+                String.valueOf(options.getDefaultParentName()),
+                String.valueOf(options.isAutodiscover())));
+    }
+
+    private static String hash(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return "";
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return DigestUtils.sha256Hex(in);
+        }
+    }
+
+    private void write(Path target, Writer writer) throws IOException {
+        var tmp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                writer.write(out);
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.impl;
+
+import com.amartus.sonata.blender.impl.util.Metrics;
+import com.amartus.sonata.blender.impl.util.NamedThreadFactory;
+import com.amartus.sonata.blender.parser.DeserializerProvider;
+import com.amartus.sonata.blender.parser.SharedResolverCache;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Resolves a set of product specifications using {@link ProductSpecReader}.
+ * Specifications might be resolved concurrently, but results are always reported in the input order.
+ */
+public class ProductSpecLoader {
+    private static final Logger log = LoggerFactory.getLogger(ProductSpecLoader.class);
+
+    private final ProductSpecReader.Options options;
+    private int parallelism = 1;
+    private ProductSpecCache cache = null;
+    private ResolvedSpecifications shared = null;
+    private Metrics metrics = Metrics.disabled();
+    private boolean lowMemory = false;
+    /** files added to {@link SharedResolverCache} in low memory mode */
+    private final Set<Path> added = ConcurrentHashMap.newKeySet();
+
+    public ProductSpecLoader(ProductSpecReader.Options options) {
+        this.options = Objects.requireNonNull(options);
+    }
+
+    public static int defaultParallelism() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    public ProductSpecLoader parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism has to be a positive number");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Use on-disk cache of resolved specifications.
+     * @param cache cache to use or null to always resolve specifications
+     * @return this loader
+     */
+    public ProductSpecLoader cache(ProductSpecCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Share resolved specifications with other loaders in the process.
+     * @param shared store of resolved specifications or null to resolve them in this loader only
+     * @return this loader
+     */
+    public ProductSpecLoader shared(ResolvedSpecifications shared) {
+        this.shared = shared;
+        return this;
+    }
+
+    /**
+     * Record resolution of each specification in the {@code resolve} group.
+     * @param metrics metrics to record to
+     * @return this loader
+     */
+    public ProductSpecLoader metrics(Metrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Keep as little as possible of resolution state in memory.
+     * At most one resolved specification per thread waits to be consumed,
+     * parsed files of product specifications are dropped from {@link SharedResolverCache} once resolved
+     * and other files this loader added to the cache are dropped when loading is done.
+     * Entries added by other users of the cache are kept.
+     * Resolved specifications are not shared with other loaders.
+     * @param lowMemory low memory flag
+     * @return this loader
+     */
+    public ProductSpecLoader lowMemory(boolean lowMemory) {
+        this.lowMemory = lowMemory;
+        return this;
+    }
+
+    public List<Pair<Pair<Path, String>, Map<String, Schema<?>>>> load(List<Pair<Path, String>> specifications) {
+        List<Pair<Pair<Path, String>, Map<String, Schema<?>>>> result = new ArrayList<>(specifications.size());
+        load(specifications, (s, schemas) -> result.add(Pair.of(s, schemas)));
+        return result;
+    }
+
+    /**
+     * Resolve specifications passing each of them to the consumer in the input order.
+     * The loader does not keep references to resolved schemas passed to the consumer.
+     * @param specifications specifications to resolve
+     * @param consumer consumer of resolved schemas
+     */
+    public void load(List<Pair<Path, String>> specifications, BiConsumer<Pair<Path, String>, Map<String, Schema<?>>> consumer) {
+        try {
+            var threads = Math.min(parallelism, specifications.size());
+            if (threads < 2) {
+                specifications.forEach(s -> consumer.accept(s, read(s)));
+                return;
+            }
+            load(specifications, consumer, threads);
+        } finally {
+            added.forEach(SharedResolverCache.instance()::evict);
+            added.clear();
+        }
+    }
+
+    private void load(List<Pair<Path, String>> specifications, BiConsumer<Pair<Path, String>, Map<String, Schema<?>>> consumer, int threads) {
+        log.debug("Resolving {} specifications using {} threads", specifications.size(), threads);
+        var window = lowMemory ? threads : specifications.size();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new NamedThreadFactory("spec-resolver"));
+        try {
+            var pending = new ArrayDeque<Future<Map<String, Schema<?>>>>(window);
+            var submitted = 0;
+            for (var s : specifications) {
+                while (submitted < specifications.size() && pending.size() < window) {
+                    var next = specifications.get(submitted++);
+                    pending.add(executor.submit(() -> read(next)));
+                }
+                consumer.accept(s, await(pending.remove()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    protected Map<String, Schema<?>> read(Pair<Path, String> specification) {
+        return metrics.thread("resolve", name(specification), () -> readSpecification(specification));
+    }
+
+    private Map<String, Schema<?>> readSpecification(Pair<Path, String> specification) {
+        if (lowMemory) {
+            try {
+                return SharedResolverCache.instance().recording(added, () -> resolve(specification));
+            } finally {
+                var file = specification.getLeft().toAbsolutePath().normalize();
+                if (added.remove(file)) {
+                    SharedResolverCache.instance().evict(file);
+                }
+            }
+        }
+        if (shared != null) {
+            return shared.get(options, specification, () -> resolve(specification));
+        }
+        return resolve(specification);
+    }
+
+    private Map<String, Schema<?>> resolve(Pair<Path, String> specification) {
+        var reader = new ProductSpecReader(options,
+                specification.getLeft(), specification.getRight(),
+                new DeserializerProvider(), ProductSpecReader.defaultOptions());
+        if (cache == null) {
+            return reader.readSchemas();
+        }
+        return cache.readSchemas(options, specification, reader);
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while resolving product specifications", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Cannot resolve product specification", e.getCause());
+        }
+    }
+
+    private static String name(Pair<Path, String> specification) {
+        var fragment = specification.getRight();
+        return fragment == null || fragment.isBlank()
+                ? specification.getLeft().toString()
+                : specification.getLeft() + "#" + fragment;
+    }
+}
@@ -17,6 +17,7 @@
  */
 package com.amartus.sonata.blender.impl;
 
+import com.amartus.sonata.blender.impl.events.SpecResolutionEvent;
 import com.amartus.sonata.blender.impl.specifications.FragmentBasedNamingStrategy;
 import com.amartus.sonata.blender.impl.specifications.PathBaseNamingStrategy;
 import com.amartus.sonata.blender.impl.specifications.ProductSpecificationNamingStrategy;
@@ -24,8 +25,8 @@ import com.amartus.sonata.blender.impl.specifications.UrnBasedNamingStrategy;
 import com.amartus.sonata.blender.parser.DeserializerProvider;
 import com.amartus.sonata.blender.parser.OpenAPIResolver;
 import com.amartus.sonata.blender.parser.ResolverCache;
+import com.amartus.sonata.blender.parser.SharedResolverCache;
 import com.fasterxml.jackson.databind.JsonNode;
-import io.swagger.parser.util.DeserializationUtils;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.ComposedSchema;
 import io.swagger.v3.oas.models.media.ObjectSchema;
@@ -38,8 +39,6 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
@@ -65,11 +64,13 @@ public class ProductSpecReader {
     private final Path schemaPath;
     private final Options config;
     private final List<ProductSpecificationNamingStrategy> namingStrategies;
-    private final Charset charset = StandardCharsets.UTF_8;
     private final String fragment;
     private final DeserializerProvider deserializerProvider;
 
     private final ParseOptions options;
+    private Set<Path> referencedFiles = null;
+    private int parsedFiles = 0;
+    private int externalRefs = 0;
 
     public ProductSpecReader(String modelToAugment, Path schemaLocation) {
         this(Options.forName(modelToAugment), schemaLocation, "", new DeserializerProvider(), defaultOptions());
@@ -106,6 +107,8 @@ public class ProductSpecReader {
 
     public Map<String, Schema<?>> readSchemas() {
         log.info("Resolving {}", this.schemaPath);
+        var event = new SpecResolutionEvent();
+        event.begin();
         OpenAPI api = new OpenAPI();
 
         var schema = new ComposedSchema()
@@ -149,9 +152,25 @@ public class ProductSpecReader {
 
         resolved.put(productName.getName(), target);
 
+        if (event.shouldCommit()) {
+            event.path = schemaPath.toString();
+            event.fragment = fragment;
+            event.schemas = resolved.size();
+            event.refs = externalRefs;
+            event.files = parsedFiles;
+            event.commit();
+        }
         return resolved;
     }
 
+    /**
+     * Local files used to resolve the specification.
+     * @return files or empty if specification is not resolved yet or it references remote documents
+     */
+    public Optional<Set<Path>> referencedFiles() {
+        return Optional.ofNullable(referencedFiles);
+    }
+
     private Schema defineParent(ComposedSchema schema, Schema specification) {
         var target = schema.getAllOf().get(0);
         if(config.autodiscover) {
@@ -190,7 +209,12 @@ public class ProductSpecReader {
 
     private ProductSpecificationNamingStrategy.NameAndDiscriminator toName() throws IOException {
         final Path file = schemaPath;
-        final JsonNode tree = DeserializationUtils.deserializeIntoTree(Files.readString(file, charset), file.toString());
+        // shared with the resolver, so the specification file is read and parsed only once
+        final var parsed = SharedResolverCache.instance().tree(file, file.toString(), options);
+        final JsonNode tree = parsed.getTree();
+        if (tree == null) {
+            throw new IOException(String.join("\n", parsed.getMessages()));
+        }
 
         final var uri =
                 Optional.ofNullable(fragment)
@@ -217,6 +241,10 @@ public class ProductSpecReader {
         OpenAPIResolver r = new OpenAPIResolver(new OpenAPI().schema(KEY, schema), cache, null);
         var res = new SwaggerParseResult().messages(new ArrayList<>());
         r.resolve(res);
+        parsedFiles = cache.getParsedTreeMisses();
+        externalRefs = cache.getParsedTreeHits() + cache.getParsedTreeMisses();
+        log.debug("Resolved {} using {} parsed files for {} external references", parentFile, parsedFiles, externalRefs);
+        referencedFiles = cache.hasRemoteReferences() ? null : Set.copyOf(cache.getLocalFiles());
 
         if (!res.getMessages().isEmpty()) {
             log.warn("Potential issues found while resolving definitions from file {}:\n\t{}",
@@ -0,0 +1,80 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.impl;
+
+import com.amartus.sonata.blender.impl.util.ModelCodec;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory store of resolved product specifications shared by several blending jobs run in one process.
+ * Each specification is resolved once, every caller gets an independent deep copy it is free to modify.
+ * Resolution runs outside the map lock, callers asking for a specification being resolved wait for the result.
+ * A failed resolution is not kept, the next caller tries again.
+ * Thread-safe.
+ */
+public class ResolvedSpecifications {
+    private final ConcurrentMap<Triple<String, Boolean, Pair<Path, String>>, CompletableFuture<Map<String, Schema<?>>>> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Get resolved specification
+     * @param options reader options
+     * @param specification specification location and fragment
+     * @param resolver used if the specification has not been resolved yet
+     * @return copy of resolved schemas
+     */
+    public Map<String, Schema<?>> get(ProductSpecReader.Options options, Pair<Path, String> specification,
+                                      Supplier<Map<String, Schema<?>>> resolver) {
+        var key = Triple.of(options.getDefaultParentName(), options.isAutodiscover(),
+                Pair.of(specification.getLeft().toAbsolutePath().normalize(), specification.getRight()));
+        var future = new CompletableFuture<Map<String, Schema<?>>>();
+        var existing = resolved.putIfAbsent(key, future);
+        if (existing == null) {
+            try {
+                future.complete(resolver.get());
+            } catch (RuntimeException | Error e) {
+                resolved.remove(key, future);
+                future.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            future = existing;
+        }
+        try {
+            return ModelCodec.copy(future.join(), ModelCodec.SCHEMAS);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public int size() {
+        return resolved.size();
+    }
+}
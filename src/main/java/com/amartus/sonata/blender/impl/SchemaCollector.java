@@ -0,0 +1,129 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.impl;
+
+import com.amartus.sonata.blender.impl.util.StructuralHash;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Collects schemas of resolved product specifications one specification at a time.
+ * Only the first definition of each distinct variant of a schema is kept.
+ * Other definitions are compared with the kept ones using {@link Schema#equals(Object)} and dropped,
+ * only referencing specifications are retained to report conflicting definitions.
+ * {@link StructuralHash} fingerprints are used to pick the variant to compare with first.
+ */
+public class SchemaCollector {
+    private static final Logger log = LoggerFactory.getLogger(SchemaCollector.class);
+
+    @SuppressWarnings("rawtypes")
+    private final Map<String, Schema> schemas = new HashMap<>();
+    private final Map<String, List<Definition>> definitions = new HashMap<>();
+
+    /**
+     * Add schemas of a product specification
+     * @param specification specification location and fragment
+     * @param resolved schemas resolved from the specification
+     */
+    public void add(Pair<Path, String> specification, Map<String, Schema<?>> resolved) {
+        var pointer = toPointer(specification);
+        // memoized hashes keep schemas reachable, so they are computed per specification
+        var hash = new StructuralHash();
+        resolved.forEach((name, schema) -> {
+            var fingerprint = hash.of(schema);
+            var known = schemas.putIfAbsent(name, schema);
+            var variants = definitions.computeIfAbsent(name, k -> new ArrayList<>(1));
+            if (known == null) {
+                variants.add(new Definition(schema, fingerprint, pointer));
+                return;
+            }
+            // equal fingerprints are a fast path, definitions are always confirmed with equals
+            variants.stream()
+                    .filter(d -> d.fingerprint == fingerprint && d.schema.equals(schema))
+                    .findFirst()
+                    .or(() -> variants.stream()
+                            .filter(d -> d.fingerprint != fingerprint && d.schema.equals(schema))
+                            .findFirst())
+                    .ifPresentOrElse(d -> d.pointers.add(pointer),
+                            () -> variants.add(new Definition(schema, fingerprint, pointer)));
+        });
+    }
+
+    /**
+     * Collected schemas.
+     * @return schemas by name
+     * @throws IllegalArgumentException if any schema has conflicting definitions
+     */
+    @SuppressWarnings("rawtypes")
+    public Map<String, Schema> schemas() {
+        if (log.isDebugEnabled()) {
+            definitions.entrySet().stream()
+                    .filter(e -> e.getValue().size() > 1 || e.getValue().get(0).pointers.size() > 1)
+                    .forEach(e -> log.debug("Schema {} found in files:\n{}", e.getKey(), String.join("\n", e.getValue().stream()
+                            .map(d -> String.join("\n", d.pointers))
+                            .collect(Collectors.toList()))));
+        }
+
+        List<String> messages = definitions.entrySet().stream()
+                .filter(e -> e.getValue().size() > 1)
+                .map(e -> {
+                    StringBuilder sb = new StringBuilder();
+                    var idx = 1;
+                    for (var d : e.getValue()) {
+                        sb.append(String.format("Group %d:\n%s\n", idx++, String.join("\n", d.pointers)));
+                    }
+                    return String.format("Schema %s defined  %d times and referenced from files groups:\n%s",
+                            e.getKey(), e.getValue().size(), sb);
+                })
+                .collect(Collectors.toList());
+        if (!messages.isEmpty()) {
+            throw new IllegalArgumentException(String.format("Found conflicting schema definitions\n %s", String.join("\n", messages)));
+        }
+        return schemas;
+    }
+
+    private static String toPointer(Pair<Path, String> specification) {
+        var path = specification.getLeft().toAbsolutePath().toString();
+        var schema = specification.getRight();
+        return StringUtils.isBlank(schema) ? path : path + "#" + schema;
+    }
+
+    private static class Definition {
+        @SuppressWarnings("rawtypes")
+        private final Schema schema;
+        private final long fingerprint;
+        private final List<String> pointers = new ArrayList<>(1);
+
+        @SuppressWarnings("rawtypes")
+        private Definition(Schema schema, long fingerprint, String pointer) {
+            this.schema = schema;
+            this.fingerprint = fingerprint;
+            this.pointers.add(pointer);
+        }
+    }
+}
@@ -1,37 +1,229 @@
 package com.amartus.sonata.blender.impl;
 
+import com.amartus.sonata.blender.impl.util.NamedThreadFactory;
 import com.amartus.sonata.blender.impl.util.SerializationUtils;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.networknt.schema.*;
 import io.swagger.v3.oas.models.OpenAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
-import java.util.function.Supplier;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+/**
+ * Validates OAS documents against the OAS 3.0 JSON schema.
+ * The schema is compiled once per validator and the validator obtained from {@link #fromClasspath()} is shared.
+ * Large documents can be validated in shards: each component schema and path item is validated
+ * concurrently against the matching part of the OAS schema and the rest of the document separately.
+ * Validators are fully initialized on construction, so a single instance can be used by several threads.
+ */
 public class SpecValidator {
+    private static final Logger log = LoggerFactory.getLogger(SpecValidator.class);
+    private static final Pattern PATH_SEGMENT = Pattern.compile("\\.([^.\\[]+)|\\[(\\d+)]|\\['([^']*)']");
+    private static SpecValidator shared;
 
-    private final Supplier<JsonSchema> factory;
+    private final JsonSchema schema;
+    private final JsonSchema componentSchema;
+    private final JsonSchema pathItemSchema;
 
     public SpecValidator(JsonNode specification) {
         var jsf = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V4);
-         factory = () -> jsf.getSchema(specification);
+        schema = jsf.getSchema(specification);
+        componentSchema = jsf.getSchema(subschema(specification,
+                "{\"oneOf\": [{\"$ref\": \"#/definitions/Schema\"}, {\"$ref\": \"#/definitions/Reference\"}]}"));
+        pathItemSchema = jsf.getSchema(subschema(specification, "{\"$ref\": \"#/definitions/PathItem\"}"));
+        // validators (including referenced schemas) are created lazily on first use otherwise,
+        // which is not safe when shards are validated concurrently
+        schema.initializeValidators();
+        componentSchema.initializeValidators();
+        pathItemSchema.initializeValidators();
     }
+
+    /**
+     * Validate document tree, e.g. one produced by {@link SerializationUtils#toTree(Object)}
+     * which can be then written without serializing the model again.
+     * @param toValidate document tree
+     * @return validation issues
+     */
     public Collection<ValidationMessage> validate(JsonNode toValidate) {
-        Set<ValidationMessage> validate = factory.get().validate(toValidate);
+        Set<ValidationMessage> validate = schema.validate(toValidate);
         return validate;
     }
 
     public Collection<ValidationMessage> validate(OpenAPI oas) {
-        var toValidate = SerializationUtils.yamlMapper().valueToTree(oas);
-        Set<ValidationMessage> validate = factory.get().validate(toValidate);
-        return validate;
+        return validate(SerializationUtils.toTree(oas));
+    }
+
+    /**
+     * Validate document in shards.
+     * @param document document tree
+     * @param parallelism number of threads used
+     * @return validation issues with JSON pointer locations, ordered by location
+     */
+    public List<Issue> validate(JsonNode document, int parallelism) {
+        if (!document.isObject()) {
+            return toIssues("", schema.validate(document));
+        }
+        List<Callable<List<Issue>>> tasks = new ArrayList<>();
+        // shallow copy of the document with component schemas and path items replaced by empty objects
+        var skeleton = copy(document);
+        if (skeleton.get("components") instanceof ObjectNode) {
+            var components = copy(skeleton.get("components"));
+            skeleton.set("components", components);
+            shard(components, "schemas", "/components/schemas/", componentSchema, tasks);
+        }
+        shard(skeleton, "paths", "/paths/", pathItemSchema, tasks);
+        tasks.add(() -> toIssues("", schema.validate(skeleton)));
+
+        var threads = Math.min(parallelism, tasks.size());
+        log.debug("Validating {} shards using {} threads", tasks.size(), threads);
+        List<Issue> issues = new ArrayList<>();
+        if (threads < 2) {
+            for (var t : tasks) {
+                issues.addAll(call(t));
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads, new NamedThreadFactory("spec-validator"));
+            try {
+                for (var f : executor.invokeAll(tasks)) {
+                    issues.addAll(f.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Validation interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Validation failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        issues.sort(Comparator.comparing(Issue::getLocation).thenComparing(Issue::getMessage));
+        return issues;
+    }
+
+    /**
+     * Replace objects in the field of the parent with empty objects (valid schemas and path items)
+     * and add a validation task for each of them
+     */
+    private static void shard(ObjectNode parent, String field, String prefix, JsonSchema validator,
+                              List<Callable<List<Issue>>> tasks) {
+        var container = parent.get(field);
+        if (!(container instanceof ObjectNode)) {
+            return;
+        }
+        var placeholders = copy(container);
+        container.fields().forEachRemaining(e -> {
+            var value = e.getValue();
+            // extensions of paths object are not path items
+            if (!value.isObject() || ("paths".equals(field) && e.getKey().startsWith("x-"))) {
+                return;
+            }
+            var location = prefix + escape(e.getKey());
+            tasks.add(() -> toIssues(location, validator.validate(value)));
+            placeholders.putObject(e.getKey());
+        });
+        parent.set(field, placeholders);
     }
 
-    public static SpecValidator fromClasspath() throws IOException {
-        var spec = SerializationUtils.jsonMapper()
-                .readTree(SpecValidator.class.getResourceAsStream("/schemas/3.0/schema.json"));
-        return new SpecValidator(spec);
+    private static ObjectNode copy(JsonNode object) {
+        var copy = JsonNodeFactory.instance.objectNode();
+        object.fields().forEachRemaining(e -> copy.set(e.getKey(), e.getValue()));
+        return copy;
+    }
+
+    private static JsonNode subschema(JsonNode specification, String root) {
+        try {
+            var node = (ObjectNode) SerializationUtils.jsonReader().readTree(root);
+            node.set("definitions", specification.get("definitions"));
+            return node;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Issue> toIssues(String prefix, Collection<ValidationMessage> messages) {
+        return messages.stream()
+                .map(m -> new Issue(prefix + toPointer(m.getPath()), stripPath(m)))
+                .collect(Collectors.toList());
+    }
+
+    static String toPointer(String path) {
+        if (path == null) {
+            return "";
+        }
+        var result = new StringBuilder();
+        var matcher = PATH_SEGMENT.matcher(path.startsWith("$") ? path.substring(1) : path);
+        while (matcher.find()) {
+            var segment = matcher.group(1) != null ? matcher.group(1)
+                    : matcher.group(2) != null ? matcher.group(2)
+                    : matcher.group(3);
+            result.append('/').append(escape(segment));
+        }
+        return result.toString();
+    }
+
+    private static String escape(String segment) {
+        return segment.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String stripPath(ValidationMessage m) {
+        var prefix = m.getPath() + ": ";
+        return m.getMessage().startsWith(prefix) ? m.getMessage().substring(prefix.length()) : m.getMessage();
+    }
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throw new IllegalStateException("Validation failed", e);
+        }
+    }
+
+    public static synchronized SpecValidator fromClasspath() throws IOException {
+        if (shared == null) {
+            var spec = SerializationUtils.jsonReader()
+                    .readTree(SpecValidator.class.getResourceAsStream("/schemas/3.0/schema.json"));
+            shared = new SpecValidator(spec);
+        }
+        return shared;
+    }
+
+    /**
+     * Validation issue located with a JSON pointer
+     */
+    public static class Issue {
+        private final String location;
+        private final String message;
+
+        public Issue(String location, String message) {
+            this.location = location;
+            this.message = message;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return (location.isEmpty() ? "/" : location) + ": " + message;
+        }
     }
 }
@@ -0,0 +1,41 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.amartus.blender.Discovery")
+@Label("Specification Discovery")
+@Category("Blender")
+@Description("Search of product specifications with matching id in a directory tree")
+@StackTrace(false)
+public class DiscoveryEvent extends jdk.jfr.Event {
+    @Label("Root Directory")
+    public String root;
+
+    @Label("Files Checked")
+    public int files;
+
+    @Label("Specifications Found")
+    public int specifications;
+}
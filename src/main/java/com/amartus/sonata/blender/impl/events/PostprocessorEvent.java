@@ -0,0 +1,61 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.events;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.amartus.blender.Postprocessor")
+@Label("OAS Post-processor")
+@Category("Blender")
+@Description("Run of a single post-processor on the blended model")
+@StackTrace(false)
+public class PostprocessorEvent extends jdk.jfr.Event {
+    @Label("Post-processor")
+    public String postprocessor;
+
+    @Label("Schema Count")
+    @Description("Number of schemas after post-processing")
+    public int schemas;
+
+    /**
+     * Wrap post-processing with an event.
+     * @param name post-processor name
+     * @param openAPI post-processed model
+     * @param action post-processing
+     * @return action emitting the event
+     */
+    public static Runnable recorded(String name, OpenAPI openAPI, Runnable action) {
+        return () -> {
+            var event = new PostprocessorEvent();
+            event.begin();
+            action.run();
+            if (event.shouldCommit()) {
+                event.postprocessor = name;
+                event.schemas = openAPI.getComponents() == null || openAPI.getComponents().getSchemas() == null
+                        ? 0 : openAPI.getComponents().getSchemas().size();
+                event.commit();
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.amartus.blender.SpecResolution")
+@Label("Specification Resolution")
+@Category("Blender")
+@Description("Resolution of a single product specification into schemas")
+@StackTrace(false)
+public class SpecResolutionEvent extends jdk.jfr.Event {
+    @Label("Specification")
+    public String path;
+
+    @Label("Fragment")
+    public String fragment;
+
+    @Label("Schema Count")
+    public int schemas;
+
+    @Label("External Reference Count")
+    public int refs;
+
+    @Label("Parsed File Count")
+    public int files;
+}
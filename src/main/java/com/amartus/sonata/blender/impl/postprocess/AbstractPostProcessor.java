@@ -31,7 +31,7 @@ import java.util.function.Consumer;
  *
  * @author bartosz.michalik@amartus.com
  */
-public abstract class AbstractPostProcessor implements Consumer<OpenAPI> {
+public abstract class AbstractPostProcessor implements Consumer<OpenAPI>, SchemaVisitor {
     protected OasWrapper api;
 
     static LinkedHashMap<String, Schema> schemas(OpenAPI api) {
@@ -48,6 +48,17 @@ public abstract class AbstractPostProcessor implements Consumer<OpenAPI> {
         processSchemas();
     }
 
+    @Override
+    public void beforeTraversal(OasWrapper api) {
+        this.api = api;
+        processPaths();
+    }
+
+    @Override
+    public void visitSchema(String name, Schema schema) {
+        process(name, schema);
+    }
+
     protected void processSchemas() {
         schemas(api.oas())
                 .forEach(this::process);
@@ -22,6 +22,10 @@ import com.amartus.sonata.blender.impl.specifications.FragmentBasedNamingStrateg
 import com.amartus.sonata.blender.impl.specifications.PathBaseNamingStrategy;
 import com.amartus.sonata.blender.impl.specifications.ProductSpecificationNamingStrategy;
 import com.amartus.sonata.blender.impl.specifications.UrnBasedNamingStrategy;
+import com.amartus.sonata.blender.impl.util.Metrics;
+import com.amartus.sonata.blender.impl.util.ModelCodec;
+import com.amartus.sonata.blender.impl.util.SerializationUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.swagger.v3.oas.models.OpenAPI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,34 +36,110 @@ import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.amartus.sonata.blender.impl.events.PostprocessorEvent.recorded;
 import static com.amartus.sonata.blender.impl.postprocess.RenameTypesPostprocessor.NameConverter;
 
 public class ComposedPostprocessor implements Consumer<OpenAPI> {
     private static final Logger log = LoggerFactory.getLogger(ComposedPostprocessor.class);
 
+    /*
+     * Post-processors sharing a traversal are fused. To allow that:
+     * - renaming runs before removal of superfluous types (they change disjoint attributes)
+     * - removal of default parameter values (paths only) runs before discriminator constraints
+     * ComposedPropertyToType is not fused with enum externalization as both derive new type names
+     * from the set of already registered schemas.
+     */
     private final List<Consumer<OpenAPI>> postprocessors = List.of(
-            new RemoveSuperflousTypeDeclarations(),
             new RenameTypesPostprocessor(converter()),
-            new PropertyEnumExternalize(),
+            new FusedPostprocessor(
+                    new RemoveSuperflousTypeDeclarations(),
+                    new PropertyEnumExternalize()
+            ),
             new ComposedPropertyToType(),
             new SingleEnumToDiscriminatorValue(),
             new ConvertOneOfToAllOffInheritance(),
             new UpdateDiscriminatorMapping(),
-            new ConstrainDiscriminatorValueWithEnum(),
             new RemoveDefaultParameterValues(),
-            new RemoveSchemaExtensions(Set.of(
-                    "x-try-renaming-on"
-            ))
+            new FusedPostprocessor(
+                    new ConstrainDiscriminatorValueWithEnum(),
+                    new RemoveSchemaExtensions(Set.of(
+                            "x-try-renaming-on"
+                    ))
+            )
     );
+    private final int parallelism;
+    private boolean verify = false;
+    private Metrics metrics = Metrics.disabled();
+
+    public ComposedPostprocessor() {
+        this(1);
+    }
+
+    /**
+     * @param parallelism number of post-processors (or schema partitions) processed concurrently
+     */
+    public ComposedPostprocessor(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Run serial post-processing on a copy of the model and fail if its result differs from the concurrent one.
+     * @param verify whether to verify concurrent post-processing
+     * @return this
+     */
+    public ComposedPostprocessor verify(boolean verify) {
+        this.verify = verify;
+        return this;
+    }
+
+    /**
+     * @param metrics metrics to record each post-processor to
+     * @return this
+     */
+    public ComposedPostprocessor metrics(Metrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
     @Override
     public void accept(OpenAPI openAPI) {
         log.info("Running {} OAS post-processors", postprocessors.size());
-        for (var p : postprocessors) {
-            log.debug("Running {}", p.getClass().getSimpleName());
-            p.accept(openAPI);
+        if (parallelism <= 1) {
+            for (var p : postprocessors) {
+                log.debug("Running {}", name(p));
+                metrics.exclusive(PostprocessorScheduler.GROUP, name(p), recorded(name(p), openAPI, () -> p.accept(openAPI)));
+            }
+            return;
         }
+        var expected = verify ? ModelCodec.copy(openAPI, OpenAPI.class) : null;
+        new PostprocessorScheduler(postprocessors, parallelism).metrics(metrics).accept(openAPI);
+        if (expected != null) {
+            postprocessors.forEach(p -> p.accept(expected));
+            if (!toYaml(expected).equals(toYaml(openAPI))) {
+                throw new IllegalStateException("Concurrent post-processing result differs from the serial one");
+            }
+        }
+    }
+
+    List<Consumer<OpenAPI>> postprocessors() {
+        return postprocessors;
     }
-    private NameConverter converter() {
+
+    private static String toYaml(OpenAPI openAPI) {
+        try {
+            return SerializationUtils.yamlWriter().writeValueAsString(openAPI);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String name(Consumer<OpenAPI> postprocessor) {
+        return postprocessor instanceof FusedPostprocessor
+                ? postprocessor.toString()
+                : postprocessor.getClass().getSimpleName();
+    }
+
+    static NameConverter converter() {
         var converters=  Stream.of(
             new UrnBasedNamingStrategy(),
             new FragmentBasedNamingStrategy(),
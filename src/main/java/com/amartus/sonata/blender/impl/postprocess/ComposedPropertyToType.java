@@ -20,12 +20,12 @@ package com.amartus.sonata.blender.impl.postprocess;
 
 import com.amartus.sonata.blender.impl.util.OasUtils;
 import com.amartus.sonata.blender.impl.util.OasWrapper;
+import com.amartus.sonata.blender.impl.util.StructuralHash;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.ComposedSchema;
 import io.swagger.v3.oas.models.media.ObjectSchema;
 import io.swagger.v3.oas.models.media.Schema;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,15 +40,17 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.amartus.sonata.blender.impl.postprocess.ModelAccess.Resource.*;
+
 /**
  * Uplift composed property declaration to types
  *
  * @author bartosz.michalik@amartus.com
  */
-public class ComposedPropertyToType extends PropertyPostProcessor {
+public class ComposedPropertyToType extends PropertyPostProcessor implements ModelAccess.Declaring {
     private static final Logger log = LoggerFactory.getLogger(ComposedPropertyToType.class);
 
-    private Map<String, Set<String>> hashToName;
+    private Map<Long, Set<String>> hashToName;
 
     @Override
     public void accept(OpenAPI openAPI) {
@@ -56,7 +58,7 @@ public class ComposedPropertyToType extends PropertyPostProcessor {
         super.accept(openAPI);
     }
 
-    private Map<String, Set<String>> computeHashes(OpenAPI openAPI) {
+    private Map<Long, Set<String>> computeHashes(OpenAPI openAPI) {
         return new OasWrapper(openAPI).schemas().entrySet().stream()
                 .filter(e -> OasUtils.isReferencingSchema(e.getValue()))
                 .map(e -> {
@@ -132,16 +134,21 @@ public class ComposedPropertyToType extends PropertyPostProcessor {
 
     private Optional<String> findUnique(ComposedSchema schema) {
         if (OasUtils.isReferencingSchema(schema)) {
+            var refs = refs(schema);
             return toHash(schema)
                     .map(this::byHash)
                     .stream()
                     .flatMap(Collection::stream)
+                    .filter(name -> api.schema(name)
+                            .filter(s -> s instanceof ComposedSchema)
+                            .map(s -> refs.equals(refs((ComposedSchema) s)))
+                            .orElse(false))
                     .findFirst();
         }
         return Optional.empty();
     }
 
-    private Set<String> byHash(String hash) {
+    private Set<String> byHash(Long hash) {
         var resp = hashToName.getOrDefault(hash, Set.of());
         if (resp.size() > 1) {
             log.warn("Multiple answers for hash {} -> {}. reduction not possible", hash, resp);
@@ -168,26 +175,30 @@ public class ComposedPropertyToType extends PropertyPostProcessor {
         return prefix.filter(StringUtils::isNotBlank);
     }
 
-    private Optional<String> toHash(ComposedSchema schema) {
+    private Optional<Long> toHash(ComposedSchema schema) {
+        return references(schema).map(StructuralHash::ofReferences);
+    }
+
+    private Set<String> refs(ComposedSchema schema) {
+        return references(schema).stream()
+                .flatMap(Collection::stream)
+                .map(Schema::get$ref)
+                .collect(Collectors.toSet());
+    }
+
+    private Optional<List<Schema>> references(ComposedSchema schema) {
         return Stream.of(
                 schema.getAllOf(),
                 schema.getAnyOf(),
                 schema.getOneOf()
         )
-                .flatMap(l -> refToHash(l).stream())
+                .filter(l -> l != null && !l.isEmpty())
                 .findFirst();
     }
 
-    private Optional<String> refToHash(List<Schema> refSchemas) {
-        if (refSchemas == null || refSchemas.isEmpty()) {
-            return Optional.empty();
-        }
-
-        var x = refSchemas.stream()
-                .map(Schema::get$ref)
-                .sorted()
-                .collect(Collectors.joining());
-
-        return Optional.of(DigestUtils.md2Hex(x));
+    @Override
+    public ModelAccess access() {
+        return ModelAccess.reads(SCHEMA_NAMES, PROPERTIES, COMPOSITION, REFERENCES)
+                .writes(SCHEMA_NAMES, PROPERTIES);
     }
 }
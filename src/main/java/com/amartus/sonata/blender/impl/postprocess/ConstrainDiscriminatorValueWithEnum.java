@@ -28,7 +28,9 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
-public class ConstrainDiscriminatorValueWithEnum extends AbstractPostProcessor {
+import static com.amartus.sonata.blender.impl.postprocess.ModelAccess.Resource.*;
+
+public class ConstrainDiscriminatorValueWithEnum extends AbstractPostProcessor implements ModelAccess.Declaring {
     private static final Logger log = LoggerFactory.getLogger(ConstrainDiscriminatorValueWithEnum.class);
 
     @Override
@@ -73,4 +75,10 @@ public class ConstrainDiscriminatorValueWithEnum extends AbstractPostProcessor {
         if (schemas == null) return Stream.empty();
         return schemas.stream();
     }
+
+    @Override
+    public ModelAccess access() {
+        return ModelAccess.reads(SCHEMA_NAMES, COMPOSITION, REFERENCES, PROPERTIES, DISCRIMINATORS)
+                .writes(ENUMS);
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.postprocess;
+
+import com.amartus.sonata.blender.impl.util.OasWrapper;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.amartus.sonata.blender.impl.util.Collections.mapCollector;
+
+/**
+ * Runs several post-processors in a single traversal of schemas.
+ * For each schema visitors are called in the registration order, the same applies to properties,
+ * so result is the same as running them one by one only if none of them depends on changes
+ * the previous ones make to other schemas.
+ */
+public class FusedPostprocessor implements Consumer<OpenAPI>, ModelAccess.Declaring {
+    private final List<SchemaVisitor> visitors;
+    private final List<SchemaVisitor> propertyVisitors;
+
+    public FusedPostprocessor(SchemaVisitor... visitors) {
+        this.visitors = List.of(visitors);
+        this.propertyVisitors = this.visitors.stream()
+                .filter(SchemaVisitor::visitsProperties)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void accept(OpenAPI openAPI) {
+        var api = new OasWrapper(openAPI);
+        visitors.forEach(v -> v.beforeTraversal(api));
+
+        AbstractPostProcessor.schemas(openAPI).forEach(this::visit);
+    }
+
+    /**
+     * Traverse schemas split into partitions processed concurrently.
+     * Allowed only if all visitors declare {@link ModelAccess#isPartitionable()}.
+     * @param openAPI API to process
+     * @param pool pool to use
+     * @param partitions number of partitions
+     */
+    public void accept(OpenAPI openAPI, ExecutorService pool, int partitions) {
+        if (!access().isPartitionable()) {
+            throw new IllegalStateException(this + " cannot be partitioned");
+        }
+        var api = new OasWrapper(openAPI);
+        visitors.forEach(v -> v.beforeTraversal(api));
+
+        var entries = new ArrayList<>(AbstractPostProcessor.schemas(openAPI).entrySet());
+        var size = (entries.size() + partitions - 1) / partitions;
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += size) {
+            var partition = entries.subList(from, Math.min(entries.size(), from + size));
+            tasks.add(() -> {
+                partition.forEach(e -> visit(e.getKey(), e.getValue()));
+                return null;
+            });
+        }
+        PostprocessorScheduler.invokeAll(pool, tasks);
+    }
+
+    @Override
+    public ModelAccess access() {
+        return visitors.stream()
+                .map(v -> v instanceof ModelAccess.Declaring ? ((ModelAccess.Declaring) v).access() : ModelAccess.EXCLUSIVE)
+                .reduce(ModelAccess::union)
+                .orElse(ModelAccess.EXCLUSIVE);
+    }
+
+    private void visit(String name, Schema schema) {
+        visitors.forEach(v -> v.visitSchema(name, schema));
+        if (!propertyVisitors.isEmpty()) {
+            traverseProperties(name, schema, this::visitProperty);
+        }
+    }
+
+    private Map.Entry<String, Schema> visitProperty(String type, Map.Entry<String, Schema> property) {
+        for (var v : propertyVisitors) {
+            property = v.visitProperty(type, property.getKey(), property.getValue());
+        }
+        return property;
+    }
+
+    interface PropertyCallback {
+        Map.Entry<String, Schema> apply(String type, Map.Entry<String, Schema> property);
+    }
+
+    /**
+     * Replace properties of a schema and of its composed schemas with results of the callback
+     * @param type top level schema name
+     * @param schema schema to traverse
+     * @param callback property callback
+     */
+    static void traverseProperties(String type, Schema schema, PropertyCallback callback) {
+        Map<String, Schema> properties = Optional.ofNullable((Map<String, Schema>) schema.getProperties())
+                .orElse(Collections.emptyMap())
+                .entrySet().stream()
+                .map(e -> callback.apply(type, e))
+                .collect(mapCollector());
+        schema.setProperties(properties);
+        if (schema instanceof ComposedSchema) {
+            var cs = (ComposedSchema) schema;
+            Stream.of(cs.getAllOf(), cs.getOneOf(), cs.getAnyOf())
+                    .flatMap(l -> Optional.ofNullable(l).stream())
+                    .flatMap(Collection::stream)
+                    .forEach(s -> traverseProperties(type, s, callback));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return visitors.stream()
+                .map(v -> v.getClass().getSimpleName())
+                .collect(Collectors.joining(" + "));
+    }
+}
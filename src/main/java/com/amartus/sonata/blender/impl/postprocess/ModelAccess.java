@@ -0,0 +1,120 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.postprocess;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Declaration of parts of the OAS model a post-processor reads and writes.
+ * Used by {@link PostprocessorScheduler} to decide which post-processors can run concurrently.
+ */
+public class ModelAccess {
+    public enum Resource {
+        /** names of schemas in components section, adding new schemas */
+        SCHEMA_NAMES,
+        /** $ref values */
+        REFERENCES,
+        /** allOf / oneOf / anyOf lists */
+        COMPOSITION,
+        /** properties of schemas */
+        PROPERTIES,
+        /** type declarations */
+        TYPES,
+        /** enum values */
+        ENUMS,
+        /** discriminator definitions and mappings */
+        DISCRIMINATORS,
+        /** specification extensions of schemas */
+        EXTENSIONS,
+        /** paths, operations, request bodies and responses */
+        PATHS,
+        /** parameters and headers */
+        PARAMETERS
+    }
+
+    /** Access of post-processors without a declaration */
+    public static final ModelAccess EXCLUSIVE = new ModelAccess(EnumSet.allOf(Resource.class), EnumSet.allOf(Resource.class), false);
+
+    private final Set<Resource> reads;
+    private final Set<Resource> writes;
+    private final boolean partitionable;
+
+    private ModelAccess(Set<Resource> reads, Set<Resource> writes, boolean partitionable) {
+        this.reads = Collections.unmodifiableSet(reads);
+        this.writes = Collections.unmodifiableSet(writes);
+        this.partitionable = partitionable;
+    }
+
+    public static ModelAccess reads(Resource first, Resource... rest) {
+        return new ModelAccess(EnumSet.of(first, rest), EnumSet.noneOf(Resource.class), false);
+    }
+
+    public ModelAccess writes(Resource first, Resource... rest) {
+        var w = EnumSet.of(first, rest);
+        w.addAll(writes);
+        return new ModelAccess(copy(reads), w, partitionable);
+    }
+
+    /**
+     * Declare that each top level schema is processed independently of the others,
+     * so schemas can be split between threads.
+     * @return updated declaration
+     */
+    public ModelAccess partitionable() {
+        return new ModelAccess(copy(reads), copy(writes), true);
+    }
+
+    public ModelAccess union(ModelAccess other) {
+        var r = copy(reads);
+        r.addAll(other.reads);
+        var w = copy(writes);
+        w.addAll(other.writes);
+        return new ModelAccess(r, w, partitionable && other.partitionable);
+    }
+
+    public boolean conflictsWith(ModelAccess other) {
+        return !Collections.disjoint(writes, other.reads) || !Collections.disjoint(writes, other.writes)
+                || !Collections.disjoint(other.writes, reads);
+    }
+
+    public boolean isPartitionable() {
+        return partitionable;
+    }
+
+    public Set<Resource> getReads() {
+        return reads;
+    }
+
+    public Set<Resource> getWrites() {
+        return writes;
+    }
+
+    private static EnumSet<Resource> copy(Set<Resource> resources) {
+        return resources.isEmpty() ? EnumSet.noneOf(Resource.class) : EnumSet.copyOf(resources);
+    }
+
+    /**
+     * Implemented by post-processors declaring their access to the model
+     */
+    public interface Declaring {
+        ModelAccess access();
+    }
+}
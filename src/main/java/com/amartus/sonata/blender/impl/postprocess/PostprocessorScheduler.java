@@ -0,0 +1,177 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.postprocess;
+
+import com.amartus.sonata.blender.impl.util.Metrics;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.amartus.sonata.blender.impl.events.PostprocessorEvent.recorded;
+
+/**
+ * Runs post-processors respecting their {@link ModelAccess} declarations.
+ * Consecutive post-processors which do not conflict with each other form a stage and run concurrently.
+ * A single partitionable post-processor is run on partitions of the schemas.
+ * Post-processors without a declaration always run alone.
+ */
+public class PostprocessorScheduler implements Consumer<OpenAPI> {
+    private static final Logger log = LoggerFactory.getLogger(PostprocessorScheduler.class);
+    static final String GROUP = "postprocess";
+
+    private final List<List<Consumer<OpenAPI>>> stages;
+    private final int parallelism;
+    private Metrics metrics = Metrics.disabled();
+
+    public PostprocessorScheduler(List<Consumer<OpenAPI>> postprocessors, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism has to be a positive number");
+        }
+        this.stages = toStages(postprocessors);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Record each post-processor in the {@code postprocess} group.
+     * Post-processors running alone are measured with all threads they use.
+     * @param metrics metrics to record to
+     * @return this
+     */
+    public PostprocessorScheduler metrics(Metrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    @Override
+    public void accept(OpenAPI openAPI) {
+        if (parallelism == 1) {
+            stages.forEach(stage -> stage.forEach(p -> metrics.exclusive(GROUP, name(p), recorded(name(p), openAPI, () -> p.accept(openAPI)))));
+            return;
+        }
+        var pool = new ForkJoinPool(parallelism, MeteredWorker::new, null, false);
+        try {
+            for (var stage : stages) {
+                run(stage, openAPI, pool);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    List<List<Consumer<OpenAPI>>> stages() {
+        return stages;
+    }
+
+    private void run(List<Consumer<OpenAPI>> stage, OpenAPI openAPI, ExecutorService pool) {
+        if (stage.size() == 1) {
+            var p = stage.get(0);
+            var partitioned = toPartitionable(p);
+            if (partitioned != null) {
+                log.debug("Running {} on {} partitions", p, parallelism);
+                metrics.exclusive(GROUP, name(p), recorded(name(p), openAPI, () -> partitioned.accept(openAPI, pool, parallelism)));
+            } else {
+                metrics.exclusive(GROUP, name(p), recorded(name(p), openAPI, () -> p.accept(openAPI)));
+            }
+            return;
+        }
+        log.debug("Running {} concurrently", stage.stream().map(Object::toString).collect(Collectors.joining(", ")));
+        invokeAll(pool, stage.stream()
+                .map(p -> (Callable<Void>) () -> {
+                    metrics.thread(GROUP, name(p), recorded(name(p), openAPI, () -> p.accept(openAPI)));
+                    return null;
+                })
+                .collect(Collectors.toList()));
+    }
+
+    private static FusedPostprocessor toPartitionable(Consumer<OpenAPI> p) {
+        if (!access(p).isPartitionable()) {
+            return null;
+        }
+        if (p instanceof FusedPostprocessor) {
+            return (FusedPostprocessor) p;
+        }
+        if (p instanceof SchemaVisitor) {
+            return new FusedPostprocessor((SchemaVisitor) p);
+        }
+        return null;
+    }
+
+    private static String name(Consumer<OpenAPI> p) {
+        return ComposedPostprocessor.name(p);
+    }
+
+    static ModelAccess access(Consumer<OpenAPI> p) {
+        return p instanceof ModelAccess.Declaring ? ((ModelAccess.Declaring) p).access() : ModelAccess.EXCLUSIVE;
+    }
+
+    private static List<List<Consumer<OpenAPI>>> toStages(List<Consumer<OpenAPI>> postprocessors) {
+        List<List<Consumer<OpenAPI>>> stages = new ArrayList<>();
+        List<Consumer<OpenAPI>> current = new ArrayList<>();
+        for (var p : postprocessors) {
+            var conflicts = current.stream().anyMatch(c -> access(c).conflictsWith(access(p)));
+            if (conflicts) {
+                stages.add(List.copyOf(current));
+                current = new ArrayList<>();
+            }
+            current.add(p);
+        }
+        if (!current.isEmpty()) {
+            stages.add(List.copyOf(current));
+        }
+        return List.copyOf(stages);
+    }
+
+    static void invokeAll(ExecutorService pool, List<Callable<Void>> tasks) {
+        try {
+            for (var f : pool.invokeAll(tasks)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running post-processors", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Post-processor failed", e.getCause());
+        }
+    }
+
+    private static class MeteredWorker extends ForkJoinWorkerThread {
+        MeteredWorker(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        @Override
+        protected void onTermination(Throwable exception) {
+            Metrics.retireCurrentThread();
+            super.onTermination(exception);
+        }
+    }
+}
@@ -18,23 +18,54 @@
 
 package com.amartus.sonata.blender.impl.postprocess;
 
+import com.amartus.sonata.blender.impl.util.OasWrapper;
+import com.amartus.sonata.blender.impl.util.StructuralHash;
+import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.Schema;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static com.amartus.sonata.blender.impl.postprocess.ModelAccess.Resource.*;
+
 /**
  * Externalize inline enum to separate schema.
+ * Identical enums of properties with the same name share a single schema,
+ * so a schema is always named after the properties using it.
  * This does not work for singleton enums.
  *
  * @author bartosz.michalik@amartus.com
  */
-public class PropertyEnumExternalize extends PropertyPostProcessor {
+public class PropertyEnumExternalize extends PropertyPostProcessor implements ModelAccess.Declaring {
     private static final Logger log = LoggerFactory.getLogger(PropertyEnumExternalize.class);
 
+    private StructuralHash hash;
+    private Map<Pair<String, Long>, List<String>> extracted;
+
+    @Override
+    public void accept(OpenAPI openAPI) {
+        reset();
+        super.accept(openAPI);
+    }
+
+    @Override
+    public void beforeTraversal(OasWrapper api) {
+        reset();
+        super.beforeTraversal(api);
+    }
+
+    private void reset() {
+        hash = new StructuralHash();
+        extracted = new HashMap<>();
+    }
+
     @Override
     protected Map.Entry<String, Schema> processProperty(String name, Schema property) {
         return extractEnumSchema(name, property)
@@ -63,12 +94,28 @@ public class PropertyEnumExternalize extends PropertyPostProcessor {
     }
 
     private Optional<Map.Entry<String, Schema>> extractEnum(String name, Schema property) {
+        var key = Pair.of(name, hash.of(property));
+        var existing = extracted.getOrDefault(key, List.of()).stream()
+                .filter(n -> api.schema(n).map(property::equals).orElse(false))
+                .findFirst();
+        if (existing.isPresent()) {
+            log.info("Enum {}.{} is the same as {}. Reusing it", currentType, name, existing.get());
+            return Optional.of(Map.entry(name, referencing(property, existing.get())));
+        }
+
         String enumName = proposeName(name);
 
         log.info("Refactoring enum {}.{} to separate schema: {}", currentType, name, enumName);
         var newSchema = referencing(property, enumName);
         registerNewSchema(enumName, property);
+        extracted.computeIfAbsent(key, k -> new ArrayList<>()).add(enumName);
 
         return Optional.of(Map.entry(name, newSchema));
     }
+
+    @Override
+    public ModelAccess access() {
+        return ModelAccess.reads(SCHEMA_NAMES, PROPERTIES, COMPOSITION, ENUMS)
+                .writes(SCHEMA_NAMES, PROPERTIES);
+    }
 }
@@ -23,14 +23,13 @@ import io.swagger.v3.oas.models.media.ComposedSchema;
 import io.swagger.v3.oas.models.media.Schema;
 import org.apache.commons.lang3.text.WordUtils;
 
-import java.util.*;
-import java.util.stream.Stream;
-
-import static com.amartus.sonata.blender.impl.util.Collections.mapCollector;
+import java.util.Map;
 
 /**
  * Abstract OAS API property postprocessor.
  * It traverse all properties from schemas (including compose schemas).
+ * Can be fused with other post-processors in {@link FusedPostprocessor}, which calls {@link #visitProperty} only,
+ * so {@link #process(String, Schema)} is final and subclasses customise property handling.
  * Non-thread safe
  */
 public abstract class PropertyPostProcessor extends AbstractPostProcessor {
@@ -38,32 +37,25 @@ public abstract class PropertyPostProcessor extends AbstractPostProcessor {
     protected String currentType;
 
     @Override
-    protected void process(String type, Schema schema) {
-        this.currentType = type;
+    protected final void process(String type, Schema schema) {
+        FusedPostprocessor.traverseProperties(type, schema,
+                (t, e) -> visitProperty(t, e.getKey(), e.getValue()));
+    }
 
-        Map<String, Schema> properties = toProperties(schema)
-                .entrySet().stream()
-                .map(e -> processProperty(e.getKey(), e.getValue()))
-                .collect(mapCollector());
-        schema.setProperties(properties);
-        if (schema instanceof ComposedSchema) {
-            schemas(((ComposedSchema) schema).getAllOf())
-                    .forEach(s -> process(type, s));
-            schemas(((ComposedSchema) schema).getOneOf())
-                    .forEach(s -> process(type, s));
-            schemas(((ComposedSchema) schema).getAnyOf())
-                    .forEach(s -> process(type, s));
-        }
+    @Override
+    public void visitSchema(String name, Schema schema) {
+        // properties are visited by the traversal
     }
 
-    private Stream<Schema> schemas(List<Schema> from) {
-        return Optional.ofNullable(from).map(Collection::stream)
-                .orElseGet(Stream::empty);
+    @Override
+    public boolean visitsProperties() {
+        return true;
     }
 
-    private Map<String, Schema> toProperties(Schema schema) {
-        return Optional.ofNullable(schema.getProperties())
-                .orElse(Collections.emptyMap());
+    @Override
+    public Map.Entry<String, Schema> visitProperty(String type, String name, Schema property) {
+        this.currentType = type;
+        return processProperty(name, property);
     }
 
     protected Schema referencing(Schema prop, String name) {
@@ -15,7 +15,9 @@ import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
-public class RemoveDefaultParameterValues implements Consumer<OpenAPI> {
+import static com.amartus.sonata.blender.impl.postprocess.ModelAccess.Resource.*;
+
+public class RemoveDefaultParameterValues implements Consumer<OpenAPI>, ModelAccess.Declaring {
 
 
     @Override
@@ -85,4 +87,10 @@ public class RemoveDefaultParameterValues implements Consumer<OpenAPI> {
     private boolean defaultExplode(Parameter.StyleEnum defStyle, Boolean explode) {
         return Boolean.valueOf(defStyle == Parameter.StyleEnum.FORM) == explode;
     }
+
+    @Override
+    public ModelAccess access() {
+        return ModelAccess.reads(PARAMETERS)
+                .writes(PARAMETERS);
+    }
 }
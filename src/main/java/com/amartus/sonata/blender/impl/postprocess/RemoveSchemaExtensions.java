@@ -2,13 +2,16 @@ package com.amartus.sonata.blender.impl.postprocess;
 
 import com.amartus.sonata.blender.impl.util.OasWrapper;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
 
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
-public class RemoveSchemaExtensions implements Consumer<OpenAPI> {
+import static com.amartus.sonata.blender.impl.postprocess.ModelAccess.Resource.*;
+
+public class RemoveSchemaExtensions implements Consumer<OpenAPI>, SchemaVisitor, ModelAccess.Declaring {
 
     private final Set<String> extensions;
 
@@ -18,8 +21,20 @@ public class RemoveSchemaExtensions implements Consumer<OpenAPI> {
 
     @Override
     public void accept(OpenAPI openAPI) {
-        new OasWrapper(openAPI).schemas().values()
-                .forEach(s -> Optional.ofNullable(s.getExtensions())
-                        .ifPresent(it -> extensions.forEach(it::remove)));
+        new OasWrapper(openAPI).schemas()
+                .forEach(this::visitSchema);
+    }
+
+    @Override
+    public void visitSchema(String name, Schema schema) {
+        Optional.ofNullable(schema.getExtensions())
+                .ifPresent(it -> extensions.forEach(it::remove));
+    }
+
+    @Override
+    public ModelAccess access() {
+        return ModelAccess.reads(EXTENSIONS)
+                .writes(EXTENSIONS)
+                .partitionable();
     }
 }
@@ -23,12 +23,14 @@ import io.swagger.v3.oas.models.media.Schema;
 import java.util.Map;
 import java.util.function.Predicate;
 
+import static com.amartus.sonata.blender.impl.postprocess.ModelAccess.Resource.*;
+
 /**
  * Remove typ setup from properties that are ref properties
  *
  * @author bartosz.michalik@amartus.com
  */
-public class RemoveSuperflousTypeDeclarations extends PropertyPostProcessor {
+public class RemoveSuperflousTypeDeclarations extends PropertyPostProcessor implements ModelAccess.Declaring {
     protected Predicate<Schema> refProperty = s -> s.get$ref() != null;
 
     @Override
@@ -38,4 +40,17 @@ public class RemoveSuperflousTypeDeclarations extends PropertyPostProcessor {
         }
         return Map.entry(name, property);
     }
+
+    @Override
+    public Map.Entry<String, Schema> visitProperty(String type, String name, Schema property) {
+        // does not track current type, so it can be called concurrently for different schemas
+        return processProperty(name, property);
+    }
+
+    @Override
+    public ModelAccess access() {
+        return ModelAccess.reads(REFERENCES, PROPERTIES, COMPOSITION)
+                .writes(TYPES, PROPERTIES)
+                .partitionable();
+    }
 }
@@ -2,16 +2,10 @@ package com.amartus.sonata.blender.impl.postprocess;
 
 import com.amartus.sonata.blender.impl.util.OasUtils;
 import com.amartus.sonata.blender.impl.util.OasWrapper;
+import com.amartus.sonata.blender.impl.util.RefIndex;
 import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.Operation;
-import io.swagger.v3.oas.models.media.ArraySchema;
-import io.swagger.v3.oas.models.media.Content;
-import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ComposedSchema;
 import io.swagger.v3.oas.models.media.Schema;
-import io.swagger.v3.oas.models.parameters.RequestBody;
-import io.swagger.v3.oas.models.responses.ApiResponse;
-import io.swagger.v3.oas.models.responses.ApiResponses;
-import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,7 +14,9 @@ import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class RenameTypesPostprocessor implements Consumer<OpenAPI> {
+import static com.amartus.sonata.blender.impl.postprocess.ModelAccess.Resource.*;
+
+public class RenameTypesPostprocessor implements Consumer<OpenAPI>, ModelAccess.Declaring {
     private static final Logger log = LoggerFactory.getLogger(RenameTypesPostprocessor.class);
     public interface NameConverter {
         String convert(String input);
@@ -36,7 +32,8 @@ public class RenameTypesPostprocessor implements Consumer<OpenAPI> {
     @Override
     public void accept(OpenAPI openAPI) {
 
-        var schemas = new OasWrapper(openAPI).schemas();
+        var api = new OasWrapper(openAPI);
+        var schemas = api.schemas();
         this.substitutions = schemas.entrySet().stream()
                 .map(e -> Map.entry(e.getKey(), toName(e.getValue()).orElse(e.getKey())))
                 .filter(p -> ! p.getKey().equals(p.getValue()))
@@ -57,38 +54,54 @@ public class RenameTypesPostprocessor implements Consumer<OpenAPI> {
             return;
         }
 
+        // the index has to be built before schemas are renamed, it is keyed by the old names
+        var index = RefIndex.build(openAPI);
         renameSchemas(openAPI);
-        renameReferences(openAPI);
+        renameReferences(index);
+        renameMappings(api);
     }
 
     private void renameSchemas(OpenAPI oas) {
-        var schemas = new OasWrapper(oas).schemas().entrySet().stream()
-                .map(e -> Pair.of(substitutions.getOrDefault(e.getKey(), e.getKey()), e.getValue()))
-                .collect(Collectors.toMap(Pair::getLeft, Pair::getRight));
+        var schemas = new LinkedHashMap<String, Schema>();
+        new OasWrapper(oas).schemas()
+                .forEach((name, schema) -> schemas.put(substitutions.getOrDefault(name, name), schema));
         oas.getComponents().setSchemas(schemas);
     }
 
-    protected Schema tryConverting(Schema schema) {
-        if(schema instanceof ArraySchema) {
-            var items = tryConverting(schema.getItems());
-            schema.setItems(items);
-        }
-        schema.set$ref(convert(schema.get$ref()));
-        return schema;
+    /**
+     * Rewrite only references pointing at renamed schemas.
+     * These are found in the reference index, which covers schemas (including composition,
+     * array items and additional properties), paths, parameters, headers, request bodies and responses.
+     * Building the index walks the whole model once, rewriting touches only the renamed references.
+     */
+    private void renameReferences(RefIndex index) {
+        substitutions.forEach(index::rename);
     }
 
-    protected String convert(String ref) {
-        return Optional.ofNullable(ref)
-                .flatMap(r -> {
-                    var name = OasUtils.toSchemaName(ref);
-                    return Optional.ofNullable(substitutions.get(name))
-                            .map(OasUtils::toSchemRef);
-                }).orElse(ref);
+    /**
+     * Rewrite discriminator mapping values pointing at renamed schemas.
+     */
+    private void renameMappings(OasWrapper api) {
+        api.schemas().values().stream()
+                .flatMap(s -> s instanceof ComposedSchema
+                        ? Stream.concat(Stream.of(s), parts((ComposedSchema) s))
+                        : Stream.of(s))
+                .map(Schema::getDiscriminator)
+                .filter(d -> d != null && d.getMapping() != null)
+                .forEach(d -> {
+                    var mapping = new LinkedHashMap<String, String>();
+                    d.getMapping().forEach((value, ref) -> {
+                        var renamed = substitutions.get(OasUtils.toSchemaName(ref));
+                        mapping.put(value, renamed == null ? ref : OasUtils.toSchemRef(renamed));
+                    });
+                    d.setMapping(mapping);
+                });
     }
 
-    private void renameReferences(OpenAPI openAPI) {
-        new RenameReferences().accept(openAPI);
-        new RenamePathReferences().accept(openAPI);
+    private static Stream<Schema> parts(ComposedSchema schema) {
+        return Stream.of(schema.getAllOf(), schema.getOneOf(), schema.getAnyOf())
+                .filter(Objects::nonNull)
+                .flatMap(Collection::stream);
     }
 
     protected Optional<String> toName(Schema schema) {
@@ -97,52 +110,9 @@ public class RenameTypesPostprocessor implements Consumer<OpenAPI> {
         return  name.flatMap(n -> Optional.ofNullable(converter.convert(n)));
     }
 
-    private class RenameReferences extends PropertyPostProcessor {
-        protected Map.Entry<String, Schema> processProperty(String name, Schema property) {
-            return Map.entry(name, tryConverting(property));
-        }
-    }
-
-    private class RenamePathReferences implements Consumer<OpenAPI> {
-
-        @Override
-        public void accept(OpenAPI openAPI) {
-            Stream<Schema> schemas = toOperations(openAPI).flatMap(o -> {
-                var bs = schemas(o.getRequestBody());
-                var rs = schemas(o.getResponses());
-                return Stream.concat(bs, rs);
-            });
-
-            schemas.forEach(RenameTypesPostprocessor.this::tryConverting);
-        }
-
-        private Stream<Operation> toOperations(OpenAPI oas) {
-            return Optional.ofNullable(oas.getPaths())
-                    .map(p -> p.values().stream().flatMap(pi -> pi.readOperations().stream())
-                    ).orElse(Stream.empty());
-        }
-
-        private Stream<Schema> schemas(ApiResponses resp) {
-            return Optional.ofNullable(resp)
-                    .map(LinkedHashMap::values).stream()
-                    .flatMap(Collection::stream)
-                    .flatMap(this::schemas);
-        }
-        private Stream<Schema> schemas(ApiResponse r) {
-            if(r.get$ref() != null) return Stream.empty();
-            return schemas(r.getContent());
-        }
-
-        private Stream<Schema> schemas(Content c) {
-            if (c == null) return Stream.empty();
-            return c.values().stream().map(MediaType::getSchema);
-        }
-
-        private Stream<Schema> schemas(RequestBody rb) {
-            return Optional.ofNullable(rb).stream().flatMap(r -> {
-                if(r.get$ref() != null) return Stream.empty();
-                return schemas(r.getContent());
-            });
-        }
+    @Override
+    public ModelAccess access() {
+        return ModelAccess.reads(SCHEMA_NAMES, EXTENSIONS, REFERENCES, PROPERTIES, COMPOSITION, DISCRIMINATORS, PATHS, PARAMETERS)
+                .writes(SCHEMA_NAMES, REFERENCES, DISCRIMINATORS);
     }
 }
@@ -0,0 +1,63 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.postprocess;
+
+import com.amartus.sonata.blender.impl.util.OasWrapper;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.Map;
+
+/**
+ * Callbacks of a post-processor that can share a single traversal of schemas with other post-processors.
+ * See {@link FusedPostprocessor}.
+ */
+public interface SchemaVisitor {
+    /**
+     * Called once before any schema is visited
+     * @param api API being processed
+     */
+    default void beforeTraversal(OasWrapper api) {
+    }
+
+    /**
+     * Visit top level schema
+     * @param name schema name
+     * @param schema schema
+     */
+    default void visitSchema(String name, Schema schema) {
+    }
+
+    /**
+     * @return true if {@link #visitProperty(String, String, Schema)} should be called
+     */
+    default boolean visitsProperties() {
+        return false;
+    }
+
+    /**
+     * Visit property of a schema (including properties of composed schemas)
+     * @param type top level schema name
+     * @param name property name
+     * @param property property schema
+     * @return property to replace the visited one
+     */
+    default Map.Entry<String, Schema> visitProperty(String type, String name, Schema property) {
+        return Map.entry(name, property);
+    }
+}
@@ -30,6 +30,8 @@ import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.amartus.sonata.blender.impl.postprocess.ModelAccess.Resource.*;
+
 /**
  * Iterates over top level schemas. For each oneOf schema
  * it tries to use enum value as discriminator if:
@@ -41,7 +43,7 @@ import java.util.stream.Collectors;
  *
  * @author bartosz.michalik@amartus.com
  */
-public class SingleEnumToDiscriminatorValue extends AbstractPostProcessor {
+public class SingleEnumToDiscriminatorValue extends AbstractPostProcessor implements ModelAccess.Declaring {
     private static final Logger log = LoggerFactory.getLogger(SingleEnumToDiscriminatorValue.class);
 
     @Override
@@ -94,4 +96,10 @@ public class SingleEnumToDiscriminatorValue extends AbstractPostProcessor {
                     return Optional.empty();
                 });
     }
+
+    @Override
+    public ModelAccess access() {
+        return ModelAccess.reads(SCHEMA_NAMES, COMPOSITION, REFERENCES, PROPERTIES, ENUMS, DISCRIMINATORS)
+                .writes(EXTENSIONS, ENUMS);
+    }
 }
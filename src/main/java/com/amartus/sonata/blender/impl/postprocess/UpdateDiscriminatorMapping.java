@@ -27,7 +27,9 @@ import org.slf4j.LoggerFactory;
 import java.util.Map;
 import java.util.Optional;
 
-public class UpdateDiscriminatorMapping extends AbstractPostProcessor {
+import static com.amartus.sonata.blender.impl.postprocess.ModelAccess.Resource.*;
+
+public class UpdateDiscriminatorMapping extends AbstractPostProcessor implements ModelAccess.Declaring {
 
     private static final Logger log = LoggerFactory.getLogger(UpdateDiscriminatorMapping.class);
 
@@ -70,4 +72,10 @@ public class UpdateDiscriminatorMapping extends AbstractPostProcessor {
         return Optional.ofNullable(schema.getExtensions())
                 .flatMap(e -> Optional.ofNullable((String) e.get("x-discriminator-value")));
     }
+
+    @Override
+    public ModelAccess access() {
+        return ModelAccess.reads(SCHEMA_NAMES, COMPOSITION, REFERENCES, PROPERTIES, EXTENSIONS, DISCRIMINATORS)
+                .writes(DISCRIMINATORS);
+    }
 }
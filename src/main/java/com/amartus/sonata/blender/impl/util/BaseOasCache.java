@@ -0,0 +1,110 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.impl.util;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process wide cache of parsed base API specifications, used when the tool serves many requests.
+ * Entries are keyed by file and resolution flag and invalidated when file modification time or size changes.
+ * Each read returns a deep copy, so callers are free to modify it.
+ * Only the base file is tracked, changes of files it references are not detected.
+ * Disabled by default.
+ */
+public class BaseOasCache {
+    private static final BaseOasCache INSTANCE = new BaseOasCache();
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean enabled = false;
+
+    public static BaseOasCache instance() {
+        return INSTANCE;
+    }
+
+    public BaseOasCache enable() {
+        this.enabled = true;
+        return this;
+    }
+
+    /**
+     * Read API specification
+     * @param location file or URL
+     * @param resolve resolve external references
+     * @return specification
+     */
+    public OpenAPI read(String location, boolean resolve) {
+        var file = toFile(location);
+        if (!enabled || file == null) {
+            return OasUtils.readOas(location, resolve);
+        }
+        var key = file + "#" + resolve;
+        try {
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            var modified = attributes.lastModifiedTime().toMillis();
+            var size = attributes.size();
+            var entry = entries.get(key);
+            if (entry == null || entry.modified != modified || entry.size != size) {
+                entry = new Entry(modified, size, OasUtils.readOas(location, resolve));
+                entries.put(key, entry);
+            }
+            return ModelCodec.copy(entry.api, OpenAPI.class);
+        } catch (IOException e) {
+            return OasUtils.readOas(location, resolve);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static Path toFile(String location) {
+        if (location == null || location.contains("://")) {
+            return null;
+        }
+        try {
+            var path = Path.of(location).toAbsolutePath().normalize();
+            return Files.isRegularFile(path) ? path : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private static class Entry {
+        private final long modified;
+        private final long size;
+        private final OpenAPI api;
+
+        private Entry(long modified, long size, OpenAPI api) {
+            this.modified = modified;
+            this.size = size;
+            this.api = api;
+        }
+    }
+}
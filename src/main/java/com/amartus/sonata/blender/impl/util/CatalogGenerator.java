@@ -0,0 +1,349 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.amartus.sonata.blender.impl.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a synthetic, MEF-like catalog of product specifications together with a base OAS to blend them into.
+ * Each product specification is a JSON schema identified with a MEF URN. It declares local types,
+ * enum properties, an {@code allOf} inheritance chain, {@code oneOf} variants distinguished by {@code @type}
+ * and references to shared common libraries, which reference each other as well.
+ * The output depends only on the configuration, so catalogs generated with the same settings are identical.
+ */
+public class CatalogGenerator {
+    public static final String MODEL_TO_AUGMENT = "MEFProductConfiguration";
+    private static final String DISCRIMINATOR = "@type";
+    private static final JsonNodeFactory nodes = JsonNodeFactory.instance;
+
+    private int products = 100;
+    private int typesPerProduct = 5;
+    private int propertiesPerType = 6;
+    private int libraries = 2;
+    private int commonTypes = 50;
+    private int enumValues = 8;
+    private int allOfDepth = 3;
+    private int oneOfVariants = 3;
+    private long seed = 1;
+
+    @Value
+    public static class Catalog {
+        Path root;
+        Path baseOas;
+        List<Path> productSpecifications;
+    }
+
+    public CatalogGenerator products(int products) {
+        this.products = products;
+        return this;
+    }
+
+    public CatalogGenerator typesPerProduct(int typesPerProduct) {
+        this.typesPerProduct = typesPerProduct;
+        return this;
+    }
+
+    public CatalogGenerator propertiesPerType(int propertiesPerType) {
+        this.propertiesPerType = propertiesPerType;
+        return this;
+    }
+
+    /**
+     * @param libraries number of common library documents
+     * @return this
+     */
+    public CatalogGenerator libraries(int libraries) {
+        this.libraries = Math.max(1, libraries);
+        return this;
+    }
+
+    /**
+     * @param commonTypes number of types in each common library
+     * @return this
+     */
+    public CatalogGenerator commonTypes(int commonTypes) {
+        this.commonTypes = Math.max(1, commonTypes);
+        return this;
+    }
+
+    public CatalogGenerator enumValues(int enumValues) {
+        this.enumValues = Math.max(1, enumValues);
+        return this;
+    }
+
+    /**
+     * @param allOfDepth length of the {@code allOf} chain in each product, 0 to disable
+     * @return this
+     */
+    public CatalogGenerator allOfDepth(int allOfDepth) {
+        this.allOfDepth = allOfDepth;
+        return this;
+    }
+
+    /**
+     * @param oneOfVariants number of {@code oneOf} variants in each product, 0 to disable
+     * @return this
+     */
+    public CatalogGenerator oneOfVariants(int oneOfVariants) {
+        this.oneOfVariants = oneOfVariants;
+        return this;
+    }
+
+    public CatalogGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Write the catalog to a directory.
+     * Layout: {@code base.yaml}, {@code common/common-<n>.json} and {@code products/<name>/<name>.json}.
+     * @param root output directory, created if missing
+     * @return locations of the generated documents
+     * @throws IOException if documents cannot be written
+     */
+    public Catalog generate(Path root) throws IOException {
+        var random = new Random(seed);
+        Files.createDirectories(root.resolve("common"));
+        for (int l = 0; l < libraries; l++) {
+            write(root.resolve("common").resolve(library(l)), commonLibrary(l, random));
+        }
+
+        var specifications = new ArrayList<Path>(products);
+        for (int i = 0; i < products; i++) {
+            var name = String.format("product-%d", i);
+            var dir = root.resolve("products").resolve(name);
+            Files.createDirectories(dir);
+            var file = dir.resolve(name + ".json");
+            write(file, productSpecification(i, random));
+            specifications.add(file);
+        }
+
+        var base = root.resolve("base.yaml");
+        try (var out = Files.newOutputStream(base)) {
+            SerializationUtils.yamlWriter().writeValue(out, baseOas());
+        }
+        return new Catalog(root, base, specifications);
+    }
+
+    /*
+     * Types of a library reference lower numbered types of the same library or types of lower numbered libraries.
+     */
+    private ObjectNode commonLibrary(int library, Random random) {
+        var prefix = "Common" + library;
+        var definitions = nodes.objectNode();
+        int enums = enums();
+        for (int e = 0; e < enums; e++) {
+            definitions.set(prefix + "Enum" + e, enumSchema(prefix.toLowerCase() + "-" + e));
+        }
+        for (int t = 0; t < commonTypes; t++) {
+            var properties = nodes.objectNode();
+            properties.set("id", type("string"));
+            properties.set("kind", ref("#/definitions/" + prefix + "Enum" + random.nextInt(enums)));
+            properties.set("count", type("integer"));
+            if (library > 0) {
+                var other = random.nextInt(library);
+                properties.set("shared", ref("./" + library(other) + "#/definitions/" + commonType(other, random)));
+            } else if (t > 0) {
+                properties.set("related", ref("#/definitions/" + prefix + "Type" + random.nextInt(t)));
+            }
+            definitions.set(prefix + "Type" + t, object(properties)
+                    .put("description", "Common type " + t + " of library " + library));
+        }
+        return nodes.objectNode()
+                .put("$schema", "http://json-schema.org/draft-07/schema#")
+                .put("$id", String.format("urn:mef:lso:spec:sonata:common-%d:v1.0.0:library", library))
+                .put("description", "Common definitions")
+                .set("definitions", definitions);
+    }
+
+    private ObjectNode productSpecification(int product, Random random) {
+        var prefix = "Product" + product;
+        var definitions = nodes.objectNode();
+        for (int t = 0; t < typesPerProduct; t++) {
+            definitions.set(prefix + "Type" + t, object(properties(prefix, prefix + "Type" + t, t, random))
+                    .put("description", prefix + " type " + t));
+        }
+        var properties = properties(prefix, prefix, typesPerProduct, random);
+        for (int t = 0; t < typesPerProduct; t++) {
+            properties.set("type" + t, ref("#/definitions/" + prefix + "Type" + t));
+        }
+
+        // the first level of the chain extends a common type, so the chain spans documents
+        for (int d = 0; d < allOfDepth; d++) {
+            var parent = d == 0 ? commonRef(random) : ref("#/definitions/" + prefix + "Level" + (d - 1));
+            var own = object(properties(prefix, prefix + "Level" + d, typesPerProduct, random));
+            definitions.set(prefix + "Level" + d, nodes.objectNode()
+                    .put("description", prefix + " level " + d)
+                    .set("allOf", nodes.arrayNode().add(parent).add(own)));
+        }
+        if (allOfDepth > 0) {
+            properties.set("levels", ref("#/definitions/" + prefix + "Level" + (allOfDepth - 1)));
+        }
+
+        if (oneOfVariants > 0) {
+            var variants = nodes.arrayNode();
+            for (int v = 0; v < oneOfVariants; v++) {
+                var name = prefix + "Variant" + v;
+                var variantProperties = properties(prefix, name, typesPerProduct, random);
+                variantProperties.set(DISCRIMINATOR, type("string")
+                        .set("enum", nodes.arrayNode().add(name)));
+                definitions.set(name, object(variantProperties)
+                        .set("required", nodes.arrayNode().add(DISCRIMINATOR)));
+                variants.add(ref("#/definitions/" + name));
+            }
+            definitions.set(prefix + "Variant", nodes.objectNode().set("oneOf", variants));
+            properties.set("variant", ref("#/definitions/" + prefix + "Variant"));
+        }
+
+        var root = nodes.objectNode()
+                .put("$schema", "http://json-schema.org/draft-07/schema#")
+                .put("$id", String.format("urn:mef:lso:spec:sonata:product-%d:v1.0.0:all", product))
+                .put("title", "Product " + product)
+                .put("description", "Synthetic product specification " + product)
+                .put("type", "object");
+        root.set("properties", properties);
+        root.set("definitions", definitions);
+        return root;
+    }
+
+    /*
+     * Local references point only to types with lower index, so local types do not form cycles.
+     */
+    private ObjectNode properties(String prefix, String owner, int localTypes, Random random) {
+        var properties = nodes.objectNode();
+        for (int p = 0; p < propertiesPerType; p++) {
+            var name = "prop" + p;
+            switch (random.nextInt(6)) {
+                case 0:
+                    properties.set(name, type("string").put("description", owner + " " + name));
+                    break;
+                case 1:
+                    properties.set(name, type("integer").put("minimum", 0));
+                    break;
+                case 2:
+                    properties.set(name, enumSchema(owner.toLowerCase() + "-" + p));
+                    break;
+                case 3:
+                    properties.set(name, commonRef(random));
+                    break;
+                case 4:
+                    properties.set(name, type("array").set("items", commonRef(random)));
+                    break;
+                default:
+                    properties.set(name, localTypes > 0
+                            ? ref("#/definitions/" + prefix + "Type" + random.nextInt(localTypes))
+                            : type("boolean"));
+            }
+        }
+        return properties;
+    }
+
+    private ObjectNode commonRef(Random random) {
+        var library = random.nextInt(libraries);
+        return ref("../../common/" + library(library) + "#/definitions/" + commonType(library, random));
+    }
+
+    private String commonType(int library, Random random) {
+        return "Common" + library + "Type" + random.nextInt(commonTypes);
+    }
+
+    private int enums() {
+        return Math.max(1, commonTypes / 5);
+    }
+
+    private static String library(int library) {
+        return "common-" + library + ".json";
+    }
+
+    private ObjectNode enumSchema(String prefix) {
+        var values = nodes.arrayNode();
+        for (int v = 0; v < enumValues; v++) {
+            values.add(prefix + "-value-" + v);
+        }
+        return type("string").set("enum", values);
+    }
+
+    private JsonNode baseOas() {
+        var schemas = nodes.objectNode();
+        schemas.set(MODEL_TO_AUGMENT, object(nodes.objectNode()
+                .set(DISCRIMINATOR, type("string")
+                        .put("description", "The name of the type, defined in the JSON schema specified above")))
+                .put("description", "Product configuration extension point")
+                .<ObjectNode>set("discriminator", nodes.objectNode().put("propertyName", DISCRIMINATOR))
+                .set("required", nodes.arrayNode().add(DISCRIMINATOR)));
+        schemas.set("Product", object(nodes.objectNode()
+                .<ObjectNode>set("id", type("string"))
+                .set("productConfiguration", ref("#/components/schemas/" + MODEL_TO_AUGMENT))));
+        schemas.set("ProductOrderItem", object(nodes.objectNode()
+                .<ObjectNode>set("id", type("string"))
+                .set("product", ref("#/components/schemas/Product"))));
+        schemas.set("ProductOrder", object(nodes.objectNode()
+                .<ObjectNode>set("id", type("string"))
+                .set("productOrderItem", type("array").set("items", ref("#/components/schemas/ProductOrderItem")))));
+
+        var response = nodes.objectNode().put("description", "OK");
+        response.putObject("content").putObject("application/json")
+                .set("schema", ref("#/components/schemas/ProductOrder"));
+        var request = nodes.objectNode();
+        request.putObject("content").putObject("application/json")
+                .set("schema", ref("#/components/schemas/ProductOrder"));
+
+        var path = nodes.objectNode();
+        path.putObject("get").put("operationId", "listProductOrder")
+                .putObject("responses").set("200", response);
+        var post = path.putObject("post").put("operationId", "createProductOrder");
+        post.set("requestBody", request);
+        post.putObject("responses").set("201", response.deepCopy());
+
+        var root = nodes.objectNode().put("openapi", "3.0.1");
+        root.putObject("info").put("title", "Synthetic Product Ordering").put("version", "1.0.0");
+        root.putObject("paths").set("/productOrder", path);
+        root.putObject("components").set("schemas", schemas);
+        return root;
+    }
+
+    private static ObjectNode object(ObjectNode properties) {
+        return type("object").set("properties", properties);
+    }
+
+    private static ObjectNode type(String type) {
+        return nodes.objectNode().put("type", type);
+    }
+
+    private static ObjectNode ref(String ref) {
+        return nodes.objectNode().put("$ref", ref);
+    }
+
+    private static void write(Path file, JsonNode document) throws IOException {
+        try (var out = Files.newOutputStream(file)) {
+            SerializationUtils.jsonWriter().withDefaultPrettyPrinter().writeValue(out, document);
+        }
+    }
+}
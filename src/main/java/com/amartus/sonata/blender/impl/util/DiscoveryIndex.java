@@ -0,0 +1,171 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.impl.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Persistent index of root <code>$id</code> values of files in a specifications directory.
+ * An id is read again only for new files or files which size or modification time has changed.
+ * Thread-safe.
+ */
+public class DiscoveryIndex {
+    private static final Logger log = LoggerFactory.getLogger(DiscoveryIndex.class);
+    private static final String VERSION = "1";
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final Path file;
+    private final ConcurrentMap<String, Entry> entries;
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+    private volatile boolean modified = false;
+
+    private DiscoveryIndex(Path file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = new ConcurrentHashMap<>(entries);
+    }
+
+    /**
+     * Load index of a specifications directory
+     * @param directory directory where indexes are kept
+     * @param root specifications directory
+     * @return index, empty if it does not exist yet or cannot be read
+     */
+    public static DiscoveryIndex load(Path directory, Path root) {
+        var key = DigestUtils.sha256Hex(root.toAbsolutePath().normalize().toString());
+        var file = directory.toAbsolutePath().normalize().resolve("discovery-" + key + ".json");
+        if (Files.isRegularFile(file)) {
+            try {
+                var content = mapper.readValue(file.toFile(), Content.class);
+                if (VERSION.equals(content.version) && content.files != null) {
+                    return new DiscoveryIndex(file, content.files);
+                }
+            } catch (IOException e) {
+                log.info("Ignoring unreadable discovery index {}: {}", file, e.getMessage());
+            }
+        }
+        return new DiscoveryIndex(file, Map.of());
+    }
+
+    /**
+     * Get root id of a file from the index or read it if the file is new or modified.
+     * @param path file
+     * @param reader function reading id of the file
+     * @return id of the file
+     */
+    public Optional<String> id(Path path, Function<Path, Optional<String>> reader) {
+        var key = path.toAbsolutePath().normalize().toString();
+        seen.add(key);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return reader.apply(path);
+        }
+        var size = attributes.size();
+        var lastModified = attributes.lastModifiedTime().toMillis();
+
+        var entry = entries.get(key);
+        if (entry != null && entry.size == size && entry.modified == lastModified) {
+            return Optional.ofNullable(entry.id);
+        }
+        var id = reader.apply(path);
+        entries.put(key, new Entry(size, lastModified, id.orElse(null)));
+        modified = true;
+        return id;
+    }
+
+    /**
+     * Store the index. Files which were not checked since the index was loaded or last saved are removed from it,
+     * so an index reused by several runs keeps only files of the last one.
+     */
+    public void save() {
+        if (entries.keySet().retainAll(seen)) {
+            modified = true;
+        }
+        seen.clear();
+        if (!modified) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            var tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                mapper.writeValue(tmp.toFile(), new Content(VERSION, new TreeMap<>(entries)));
+                try {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            modified = false;
+        } catch (IOException e) {
+            log.warn("Cannot store discovery index {}: {}", file, e.getMessage());
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    static class Content {
+        public String version;
+        public Map<String, Entry> files;
+
+        Content() {
+        }
+
+        Content(String version, Map<String, Entry> files) {
+            this.version = version;
+            this.files = files;
+        }
+    }
+
+    static class Entry {
+        public long size;
+        public long modified;
+        public String id;
+
+        Entry() {
+        }
+
+        Entry(long size, long modified, String id) {
+            this.size = size;
+            this.modified = modified;
+            this.id = id;
+        }
+    }
+}
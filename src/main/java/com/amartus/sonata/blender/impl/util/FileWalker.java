@@ -3,10 +3,18 @@ package com.amartus.sonata.blender.impl.util;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class FileWalker<T> {
@@ -22,4 +30,52 @@ public class FileWalker<T> {
         return Files.walk(rootPath).filter(toAnalize)
                 .map(p -> Pair.of(p, mapper.apply(p)));
     }
+
+    /**
+     * Walk the tree and map the files using a pool of worker threads.
+     * @param rootPath root directory
+     * @param parallelism number of worker threads
+     * @return mapped files sorted by path
+     * @throws IOException if tree cannot be walked
+     */
+    public List<Pair<Path, T>> walk(Path rootPath, int parallelism) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(rootPath)) {
+            files = paths.filter(toAnalize).sorted().collect(Collectors.toList());
+        }
+        var threads = Math.min(parallelism, files.size());
+        if (threads < 2) {
+            return files.stream()
+                    .map(p -> Pair.of(p, mapper.apply(p)))
+                    .collect(Collectors.toList());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new NamedThreadFactory("file-walker"));
+        try {
+            List<Future<T>> futures = files.stream()
+                    .map(p -> executor.submit(() -> mapper.apply(p)))
+                    .collect(Collectors.toList());
+            List<Pair<Path, T>> result = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                result.add(Pair.of(files.get(i), await(futures.get(i))));
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while walking files");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
 }
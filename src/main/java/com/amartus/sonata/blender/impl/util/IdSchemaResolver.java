@@ -18,14 +18,12 @@
 
 package com.amartus.sonata.blender.impl.util;
 
+import com.amartus.sonata.blender.impl.events.DiscoveryEvent;
 import com.amartus.sonata.blender.impl.specifications.UrnBasedNamingStrategy;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -39,6 +37,7 @@ public class IdSchemaResolver {
 
     private static final Logger log = LoggerFactory.getLogger(IdSchemaResolver.class);
     private final UrnPredicate urnPredicate;
+    private int parallelism = 1;
 
     public IdSchemaResolver(String functionName) {
         this.urnPredicate = new UrnPredicate(disc -> disc.endsWith("all") || disc.endsWith(functionName));
@@ -48,31 +47,71 @@ public class IdSchemaResolver {
         this.urnPredicate = new UrnPredicate(Objects.requireNonNull(discrMatcher));
     }
 
+    /**
+     * Number of files checked concurrently during discovery.
+     * @param parallelism number of worker threads
+     * @return this resolver
+     */
+    public IdSchemaResolver parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism has to be a positive number");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Use an index of already checked files, so only new or modified files are read.
+     * @param index index to consult and update or null to check all files
+     * @return this resolver
+     */
+    public IdSchemaResolver index(DiscoveryIndex index) {
+        this.urnPredicate.index = index;
+        return this;
+    }
+
+    /**
+     * Find product specifications with matching id.
+     * @param rootPath directory to search
+     * @return absolute paths of the specifications in sorted order
+     */
     public List<Path> findProductSpecifications(Path rootPath) {
         var walker = new FileWalker<>(Files::isRegularFile, urnPredicate::test);
+        var event = new DiscoveryEvent();
+        event.begin();
 
-        try (Stream<Pair<Path, Boolean>> allFiles = walker.walk(rootPath)) {
-            return allFiles
+        try {
+            var checked = walker.walk(rootPath, parallelism);
+            var result = checked.stream()
                     .filter(Pair::getRight)
                     .map(Pair::getLeft)
                     .map(Path::toAbsolutePath)
+                    .sorted()
                     .collect(Collectors.toList());
+            if (urnPredicate.index != null) {
+                urnPredicate.index.save();
+            }
+            if (event.shouldCommit()) {
+                event.root = rootPath.toString();
+                event.files = checked.size();
+                event.specifications = result.size();
+                event.commit();
+            }
+            return result;
         } catch (IOException e) {
             throw new IllegalArgumentException(String.format("Cannot read %s", rootPath), e);
         }
     }
 
-
     static class UrnPredicate implements Predicate<Path> {
-        private final ObjectMapper json;
-        private final ObjectMapper yaml;
+        private final SchemaIdSniffer sniffer;
         private final UrnBasedNamingStrategy namingStrategy;
 
         private final Predicate<String> discriminatorMatcher;
+        private DiscoveryIndex index = null;
 
         private UrnPredicate(Predicate<String> discriminatorMatcher) {
-            this.json = SerializationUtils.jsonMapper();
-            this.yaml = SerializationUtils.yamlMapper();
+            this.sniffer = new SchemaIdSniffer();
             this.namingStrategy = new UrnBasedNamingStrategy();
             this.discriminatorMatcher = discriminatorMatcher;
         }
@@ -80,12 +119,9 @@ public class IdSchemaResolver {
 
         @Override
         public boolean test(Path path) {
-            var content = read(path);
-            if (content == null) {
-                log.debug("Not in json or yaml format: {}", path.toAbsolutePath().normalize());
-                return false;
-            }
-            var toInclude = namingStrategy.provideNameAndDiscriminator(null, content)
+            var id = index == null ? sniffer.sniff(path) : index.id(path, sniffer::sniff);
+            var toInclude = id
+                    .flatMap(namingStrategy::fromText)
                     .map(n -> {
                         String disc = n.getDiscriminatorValue();
                         return discriminatorMatcher.test(disc);
@@ -96,19 +132,5 @@ public class IdSchemaResolver {
             }
             return toInclude;
         }
-
-        private JsonNode read(Path path) {
-            File file = path.toFile();
-            try {
-                return json.readTree(file);
-
-            } catch (IOException e) {
-                try {
-                    return yaml.readTree(file);
-                } catch (IOException ioException) {
-                    return null;
-                }
-            }
-        }
     }
 }
@@ -0,0 +1,248 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.amartus.sonata.blender.impl.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Wall time, CPU time and allocated bytes of blend phases and of their parts.
+ * Exclusive measurements (e.g. phases) cover the whole process, i.e. CPU time and allocations of all threads,
+ * so they have to be taken for code which does not run concurrently with other measured code.
+ * Thread measurements (e.g. a single product specification resolved on a worker) cover the current thread only.
+ * A disabled instance only runs the measured code.
+ */
+public class Metrics {
+    public static final String PHASE = "phase";
+    private static final int TOP = 10;
+    private static final Metrics DISABLED = new Metrics(false);
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    // allocations of terminated worker threads, tracked only once an enabled instance exists
+    private static final Map<Long, Long> retired = new ConcurrentHashMap<>();
+    private static volatile boolean tracking = false;
+    private static long terminated = 0;
+
+    private final boolean enabled;
+    private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+    private final Sample start;
+
+    @Value
+    public static class Entry {
+        String group;
+        String name;
+        long wallNanos;
+        long cpuNanos;
+        long allocatedBytes;
+    }
+
+    public Metrics() {
+        this(true);
+    }
+
+    private Metrics(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled) {
+            tracking = true;
+        }
+        this.start = enabled ? Sample.process() : null;
+    }
+
+    public static Metrics disabled() {
+        return DISABLED;
+    }
+
+    public static Metrics of(boolean enabled) {
+        return enabled ? new Metrics() : DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public <T> T phase(String name, Supplier<T> action) {
+        return exclusive(PHASE, name, action);
+    }
+
+    public void phase(String name, Runnable action) {
+        exclusive(PHASE, name, toSupplier(action));
+    }
+
+    /**
+     * Measure code that does not run concurrently with other measured code, including all threads it uses.
+     */
+    public <T> T exclusive(String group, String name, Supplier<T> action) {
+        return enabled ? measure(group, name, action, Sample::process) : action.get();
+    }
+
+    public void exclusive(String group, String name, Runnable action) {
+        exclusive(group, name, toSupplier(action));
+    }
+
+    /**
+     * Measure code on the current thread only.
+     */
+    public <T> T thread(String group, String name, Supplier<T> action) {
+        return enabled ? measure(group, name, action, Sample::thread) : action.get();
+    }
+
+    public void thread(String group, String name, Runnable action) {
+        thread(group, name, toSupplier(action));
+    }
+
+    public List<Entry> entries() {
+        return List.copyOf(entries);
+    }
+
+    /**
+     * @return wall time, CPU time and allocations of the whole process since this instance was created
+     */
+    public Entry total() {
+        return Sample.process().since("total", "total", start);
+    }
+
+    /**
+     * Print phases followed by the slowest entries of each other group.
+     */
+    public void print(PrintStream out) {
+        var format = "%-12s %-60s %12s %12s %12s%n";
+        out.printf(format, "group", "name", "wall [ms]", "cpu [ms]", "alloc [MB]");
+        var byGroup = entries.stream().collect(Collectors.groupingBy(Entry::getGroup, LinkedHashMap::new, Collectors.toList()));
+        var phases = byGroup.remove(PHASE);
+        if (phases != null) {
+            phases.forEach(e -> print(out, format, e));
+        }
+        byGroup.forEach((group, list) -> {
+            list.stream()
+                    .sorted(Comparator.comparingLong(Entry::getWallNanos).reversed())
+                    .limit(TOP)
+                    .forEach(e -> print(out, format, e));
+            if (list.size() > TOP) {
+                out.printf("%-12s ... %d more%n", group, list.size() - TOP);
+            }
+        });
+        print(out, format, total());
+    }
+
+    public void write(Path report) throws IOException {
+        var content = new LinkedHashMap<String, Object>();
+        content.put("total", total());
+        content.put("entries", entries());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(report.toFile(), content);
+    }
+
+    /**
+     * Record allocations of the current thread before it terminates, so exclusive measurements still account for them.
+     * Called by worker threads of pools used during blending.
+     */
+    public static void retireCurrentThread() {
+        if (tracking) {
+            retired.put(Thread.currentThread().getId(), threads.getCurrentThreadAllocatedBytes());
+        }
+    }
+
+    private <T> T measure(String group, String name, Supplier<T> action, Supplier<Sample> sampler) {
+        var before = sampler.get();
+        try {
+            return action.get();
+        } finally {
+            entries.add(sampler.get().since(group, name, before));
+        }
+    }
+
+    private static void print(PrintStream out, String format, Entry e) {
+        out.printf(format, e.getGroup(), abbreviate(e.getName()),
+                String.format("%.1f", e.getWallNanos() / 1e6),
+                String.format("%.1f", e.getCpuNanos() / 1e6),
+                String.format("%.1f", e.getAllocatedBytes() / (1024.0 * 1024.0)));
+    }
+
+    private static String abbreviate(String name) {
+        return name.length() <= 60 ? name : "..." + name.substring(name.length() - 57);
+    }
+
+    private static Supplier<Void> toSupplier(Runnable action) {
+        return () -> {
+            action.run();
+            return null;
+        };
+    }
+
+    private static synchronized long allocatedByAllThreads() {
+        var ids = threads.getAllThreadIds();
+        var live = new HashSet<Long>(ids.length);
+        long sum = 0;
+        var bytes = threads.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; i++) {
+            live.add(ids[i]);
+            if (!retired.containsKey(ids[i]) && bytes[i] > 0) {
+                sum += bytes[i];
+            }
+        }
+        // thread ids are not reused, so retired threads which are not alive any more can be folded
+        for (var e : new ArrayList<>(retired.entrySet())) {
+            if (!live.contains(e.getKey())) {
+                terminated += e.getValue();
+                retired.remove(e.getKey());
+            } else {
+                sum += e.getValue();
+            }
+        }
+        return sum + terminated;
+    }
+
+    @Value
+    private static class Sample {
+        long wall;
+        long cpu;
+        long allocated;
+
+        static Sample process() {
+            return new Sample(System.nanoTime(), os.getProcessCpuTime(), allocatedByAllThreads());
+        }
+
+        static Sample thread() {
+            return new Sample(System.nanoTime(), threads.getCurrentThreadCpuTime(), threads.getCurrentThreadAllocatedBytes());
+        }
+
+        Entry since(String group, String name, Sample before) {
+            return new Entry(group, name, wall - before.wall, cpu - before.cpu, allocated - before.allocated);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.util;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Exact, field level encoding of swagger model objects.
+ * Contrary to OAS serialization it keeps concrete model classes and all field values,
+ * so decoded objects are equal to the encoded ones.
+ * Used for deep copies of models and for caching resolved schemas.
+ * As encoded documents are read from the user provided cache directory, polymorphic types are limited
+ * to swagger model classes, JSON nodes and the listed collection and value classes.
+ */
+public abstract class ModelCodec {
+    public static final TypeReference<Map<String, Schema<?>>> SCHEMAS = new TypeReference<>() {};
+
+    private static final List<Class<?>> ALLOWED = List.of(
+            ArrayList.class, LinkedList.class,
+            HashMap.class, LinkedHashMap.class, TreeMap.class,
+            HashSet.class, LinkedHashSet.class, TreeSet.class,
+            BigDecimal.class, BigInteger.class, Long.class,
+            Date.class, OffsetDateTime.class, UUID.class);
+
+    private static final ObjectMapper mapper = JsonMapper.builder()
+            .activateDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                            .allowIfSubType("io.swagger.v3.oas.models.")
+                            .allowIfSubType(Pattern.compile("com\\.fasterxml\\.jackson\\.databind\\.node\\.[A-Za-z]+Node"))
+                            .allowIfSubType(Pattern.compile(ALLOWED.stream()
+                                    .map(c -> Pattern.quote(c.getName()))
+                                    .collect(Collectors.joining("|"))))
+                            .build(),
+                    ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY)
+            .serializationInclusion(JsonInclude.Include.ALWAYS)
+            .visibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .addModule(new JavaTimeModule())
+            .build();
+
+    public static void write(Object value, OutputStream out) throws IOException {
+        mapper.writeValue(out, value);
+    }
+
+    public static <T> T read(InputStream in, TypeReference<T> type) throws IOException {
+        return mapper.readValue(in, type);
+    }
+
+    public static <T> T copy(T value, TypeReference<T> type) {
+        return mapper.convertValue(value, type);
+    }
+
+    public static <T> T copy(T value, Class<T> type) {
+        return mapper.convertValue(value, type);
+    }
+}
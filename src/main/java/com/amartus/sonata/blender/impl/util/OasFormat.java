@@ -0,0 +1,59 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Formats of OAS documents written and read by the tool.
+ * Binary formats (Smile, CBOR) are compact and fast to parse, intended for exchanging models between pipeline stages.
+ */
+public enum OasFormat {
+    yaml, json, smile, cbor;
+
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+    private static final byte[] CBOR_HEADER = {(byte) 0xd9, (byte) 0xd9, (byte) 0xf7};
+
+    public boolean isBinary() {
+        return this == smile || this == cbor;
+    }
+
+    /**
+     * Detect binary format of a file from its header.
+     * @param file file to check
+     * @return detected format, {@link #yaml} for text documents (JSON is a subset of YAML)
+     * @throws IOException if file cannot be read
+     */
+    public static OasFormat detect(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            var header = in.readNBytes(3);
+            if (Arrays.equals(SMILE_HEADER, header)) {
+                return smile;
+            }
+            if (Arrays.equals(CBOR_HEADER, header)) {
+                return cbor;
+            }
+            return yaml;
+        }
+    }
+}
@@ -24,11 +24,20 @@ import io.swagger.v3.oas.models.media.ComposedSchema;
 import io.swagger.v3.oas.models.media.ObjectSchema;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.OpenAPIResolver;
+import io.swagger.v3.parser.OpenAPIV3Parser;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -62,7 +71,9 @@ public interface OasUtils {
 //        options.setResolveFully(true);
         options.setResolve(resolve);
         try {
-            SwaggerParseResult result = new OpenAPIParser().readLocation(path, List.of(), options);
+            SwaggerParseResult result = binaryFormat(path)
+                    .map(format -> readBinary(path, format, options))
+                    .orElseGet(() -> new OpenAPIParser().readLocation(path, List.of(), options));
             var api = result.getOpenAPI();
             if (api == null) {
                 log.warn("Location {} does not contain a valid schema", path);
@@ -75,6 +86,32 @@ public interface OasUtils {
         }
     }
 
+    private static Optional<OasFormat> binaryFormat(String path) {
+        try {
+            var file = Path.of(path);
+            if (!Files.isRegularFile(file)) {
+                return Optional.empty();
+            }
+            return Optional.of(OasFormat.detect(file)).filter(OasFormat::isBinary);
+        } catch (IOException | InvalidPathException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static SwaggerParseResult readBinary(String path, OasFormat format, ParseOptions options) {
+        log.debug("Reading {} document {}", format, path);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(path)))) {
+            var node = SerializationUtils.reader(format).readTree(in);
+            var result = new OpenAPIV3Parser().parseJsonNode(path, node, options);
+            if (options.isResolve() && result.getOpenAPI() != null) {
+                result.setOpenAPI(new OpenAPIResolver(result.getOpenAPI(), List.of(), path, null, options).resolve());
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Cannot read %s", path), e);
+        }
+    }
+
     static boolean isReferencingSchema(Schema<?> schema) {
         Predicate<List<Schema>> onlyReferences = x -> {
             var refs = Helpers.safeConvert.andThen(Helpers.references)
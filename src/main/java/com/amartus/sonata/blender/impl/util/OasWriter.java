@@ -0,0 +1,116 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.util;
+
+import com.amartus.sonata.blender.impl.events.SerializationEvent;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes OAS documents in UTF-8 through a buffered generator created directly over the output stream.
+ * The model is serialized with the shared {@link SerializationUtils} writers,
+ * so the output is the same as produced by them.
+ */
+public class OasWriter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final OasWriter YAML = new OasWriter(OasFormat.yaml, SerializationUtils.yamlWriter());
+    private static final OasWriter JSON = new OasWriter(OasFormat.json, SerializationUtils.jsonWriter());
+    private static final OasWriter SMILE = new OasWriter(OasFormat.smile, SerializationUtils.writer(OasFormat.smile));
+    private static final OasWriter CBOR = new OasWriter(OasFormat.cbor, SerializationUtils.writer(OasFormat.cbor));
+
+    private final OasFormat format;
+    private final ObjectWriter writer;
+
+    private OasWriter(OasFormat format, ObjectWriter writer) {
+        this.format = format;
+        this.writer = writer;
+    }
+
+    public static OasWriter yaml() {
+        return YAML;
+    }
+
+    public static OasWriter json() {
+        return JSON;
+    }
+
+    public static OasWriter of(OasFormat format) {
+        switch (format) {
+            case json:
+                return JSON;
+            case smile:
+                return SMILE;
+            case cbor:
+                return CBOR;
+            default:
+                return YAML;
+        }
+    }
+
+    /**
+     * Write document tree, e.g. one already used for validation, so the model is not serialized twice.
+     * @param document tree produced by {@link SerializationUtils#toTree(Object)}
+     * @param target output file
+     * @throws IOException on write error
+     */
+    public void write(JsonNode document, Path target) throws IOException {
+        write((Object) document, target);
+    }
+
+    public void write(OpenAPI openAPI, Path target) throws IOException {
+        write((Object) openAPI, target);
+    }
+
+    private void write(Object document, Path target) throws IOException {
+        var event = new SerializationEvent();
+        event.begin();
+        try (var channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             var out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)) {
+            write(document, out);
+        }
+        if (event.shouldCommit()) {
+            event.target = target.toString();
+            event.format = format.name();
+            event.bytes = Files.size(target);
+            event.commit();
+        }
+    }
+
+    public void write(OpenAPI openAPI, OutputStream out) throws IOException {
+        write((Object) openAPI, out);
+    }
+
+    private void write(Object document, OutputStream out) throws IOException {
+        try (var generator = writer.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            writer.writeValue(generator, document);
+        }
+    }
+}
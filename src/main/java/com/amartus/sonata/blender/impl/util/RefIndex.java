@@ -0,0 +1,229 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.util;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index of references to component schemas.
+ * For each schema it keeps references the schema contains (outgoing) and places referencing it (incoming),
+ * including paths, request bodies, responses, parameters and headers.
+ * The index is a snapshot built by walking the whole model, it follows only renames done with {@link #rename(String, String)}.
+ */
+public class RefIndex {
+    /** Owner of references located in paths */
+    public static final String PATHS = "#/paths";
+    /** Owner of references located in components other than schemas */
+    public static final String COMPONENTS = "#/components";
+
+    private static final String PREFIX = "#/components/schemas/";
+
+    private final Map<String, Set<Ref>> byOwner = new LinkedHashMap<>();
+    private final Map<String, Set<Ref>> byTarget = new LinkedHashMap<>();
+
+    private RefIndex() {}
+
+    public static RefIndex build(OpenAPI openAPI) {
+        var index = new RefIndex();
+        new OasWrapper(openAPI).schemas().forEach(index::add);
+        Optional.ofNullable(openAPI.getPaths()).ifPresent(paths ->
+                paths.values().forEach(pi -> index.pathItem(pi, index.collector(PATHS))));
+        Optional.ofNullable(openAPI.getComponents()).ifPresent(c -> index.components(c, index.collector(COMPONENTS)));
+        return index;
+    }
+
+    /**
+     * @param name schema name
+     * @return names of schemas referenced by the schema
+     */
+    public Set<String> outgoing(String name) {
+        return byOwner.getOrDefault(name, Set.of()).stream()
+                .map(r -> r.target)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * @param name schema name
+     * @return names of schemas referencing the schema, {@link #PATHS} or {@link #COMPONENTS} for other places
+     */
+    public Set<String> incoming(String name) {
+        return byTarget.getOrDefault(name, Set.of()).stream()
+                .map(r -> r.owner)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * @param name schema name
+     * @return schema objects holding a reference to the schema
+     */
+    public List<Schema> referrers(String name) {
+        return byTarget.getOrDefault(name, Set.of()).stream()
+                .map(r -> r.site)
+                .collect(Collectors.toList());
+    }
+
+    public boolean isReferenced(String name) {
+        return !byTarget.getOrDefault(name, Set.of()).isEmpty();
+    }
+
+    /**
+     * Rewrite references to a renamed schema and move its entries.
+     * Only places actually referencing the schema are visited.
+     * @param from old schema name
+     * @param to new schema name
+     */
+    public void rename(String from, String to) {
+        var incoming = byTarget.remove(from);
+        if (incoming != null) {
+            incoming.forEach(r -> {
+                r.target = to;
+                r.site.set$ref(OasUtils.toSchemRef(to));
+            });
+            byTarget.computeIfAbsent(to, k -> new LinkedHashSet<>()).addAll(incoming);
+        }
+        var outgoing = byOwner.remove(from);
+        if (outgoing != null) {
+            outgoing.forEach(r -> r.owner = to);
+            byOwner.computeIfAbsent(to, k -> new LinkedHashSet<>()).addAll(outgoing);
+        }
+    }
+
+    private void add(String name, Schema schema) {
+        schema(schema, collector(name), Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private Consumer<Schema> collector(String owner) {
+        return site -> {
+            var ref = new Ref(owner, site.get$ref().substring(PREFIX.length()), site);
+            byOwner.computeIfAbsent(owner, k -> new LinkedHashSet<>()).add(ref);
+            byTarget.computeIfAbsent(ref.target, k -> new LinkedHashSet<>()).add(ref);
+        };
+    }
+
+    private void components(Components c, Consumer<Schema> collector) {
+        values(c.getRequestBodies()).forEach(rb -> requestBody(rb, collector));
+        values(c.getResponses()).forEach(r -> response(r, collector));
+        values(c.getParameters()).forEach(p -> parameter(p, collector));
+        values(c.getHeaders()).forEach(h -> header(h, collector));
+    }
+
+    private void pathItem(PathItem pi, Consumer<Schema> collector) {
+        Optional.ofNullable(pi.getParameters()).stream().flatMap(Collection::stream)
+                .forEach(p -> parameter(p, collector));
+        pi.readOperations().forEach(o -> operation(o, collector));
+    }
+
+    private void operation(Operation o, Consumer<Schema> collector) {
+        Optional.ofNullable(o.getParameters()).stream().flatMap(Collection::stream)
+                .forEach(p -> parameter(p, collector));
+        Optional.ofNullable(o.getRequestBody()).ifPresent(rb -> requestBody(rb, collector));
+        values(o.getResponses()).forEach(r -> response(r, collector));
+    }
+
+    private void requestBody(RequestBody rb, Consumer<Schema> collector) {
+        content(rb.getContent(), collector);
+    }
+
+    private void response(ApiResponse r, Consumer<Schema> collector) {
+        content(r.getContent(), collector);
+        values(r.getHeaders()).forEach(h -> header(h, collector));
+    }
+
+    private void parameter(Parameter p, Consumer<Schema> collector) {
+        root(p.getSchema(), collector);
+        content(p.getContent(), collector);
+    }
+
+    private void header(Header h, Consumer<Schema> collector) {
+        root(h.getSchema(), collector);
+        content(h.getContent(), collector);
+    }
+
+    private void content(Content c, Consumer<Schema> collector) {
+        values(c).stream().map(MediaType::getSchema).forEach(s -> root(s, collector));
+    }
+
+    private void root(Schema schema, Consumer<Schema> collector) {
+        schema(schema, collector, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private void schema(Schema<?> schema, Consumer<Schema> collector, Set<Schema> visited) {
+        if (schema == null || !visited.add(schema)) {
+            return;
+        }
+        if (schema.get$ref() != null && schema.get$ref().startsWith(PREFIX)) {
+            collector.accept(schema);
+        }
+        Stream.of(
+                values(schema.getProperties()),
+                nullable(schema.getAllOf()),
+                nullable(schema.getOneOf()),
+                nullable(schema.getAnyOf())
+        ).flatMap(Collection::stream).forEach(s -> schema(s, collector, visited));
+        schema(schema.getItems(), collector, visited);
+        schema(schema.getNot(), collector, visited);
+        if (schema.getAdditionalProperties() instanceof Schema) {
+            schema((Schema<?>) schema.getAdditionalProperties(), collector, visited);
+        }
+    }
+
+    private static <T> Collection<T> values(Map<String, T> map) {
+        return map == null ? List.of() : new ArrayList<>(map.values());
+    }
+
+    private static <T> Collection<T> nullable(Collection<T> collection) {
+        return collection == null ? List.of() : collection;
+    }
+
+    private static class Ref {
+        private String owner;
+        private String target;
+        private final Schema site;
+
+        private Ref(String owner, String target, Schema site) {
+            this.owner = owner;
+            this.target = target;
+            this.site = site;
+        }
+    }
+}
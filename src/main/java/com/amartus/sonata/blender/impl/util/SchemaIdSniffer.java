@@ -0,0 +1,108 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.impl.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Reads the root <code>$id</code> of a JSON or YAML document without building the document tree.
+ * Parsing stops as soon as the root <code>$id</code> is found or the root object ends.
+ * Thread-safe.
+ */
+public class SchemaIdSniffer {
+    private static final int SAMPLE_SIZE = 512;
+    private static final JsonFactory json = new JsonFactory();
+    private static final YAMLFactory yaml = new YAMLFactory();
+
+    /**
+     * @param path file to check
+     * @return root <code>$id</code> value or empty if file is not a JSON or YAML document with a textual id
+     */
+    public Optional<String> sniff(Path path) {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            in.mark(SAMPLE_SIZE);
+            var sample = in.readNBytes(SAMPLE_SIZE);
+            in.reset();
+
+            var name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            JsonFactory factory;
+            if (name.endsWith(".json")) {
+                factory = json;
+            } else if (name.endsWith(".yaml") || name.endsWith(".yml")) {
+                factory = yaml;
+            } else if (isBinary(sample)) {
+                return Optional.empty();
+            } else {
+                factory = firstCharacter(sample) == '{' ? json : yaml;
+            }
+
+            try (JsonParser parser = factory.createParser(in)) {
+                return rootId(parser);
+            }
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> rootId(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return Optional.empty();
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.getCurrentName();
+            var value = parser.nextToken();
+            if ("$id".equals(field)) {
+                return value == JsonToken.VALUE_STRING ? Optional.of(parser.getText()) : Optional.empty();
+            }
+            parser.skipChildren();
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isBinary(byte[] sample) {
+        if (sample.length == 0) {
+            return true;
+        }
+        for (var b : sample) {
+            if (b >= 0 && b < 0x20 && b != '\t' && b != '\n' && b != '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int firstCharacter(byte[] sample) {
+        for (var b : sample) {
+            if (!Character.isWhitespace(b)) {
+                return b;
+            }
+        }
+        return -1;
+    }
+}
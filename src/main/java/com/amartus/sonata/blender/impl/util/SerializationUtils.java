@@ -21,16 +21,97 @@ package com.amartus.sonata.blender.impl.util;
 import com.amartus.sonata.blender.impl.yaml.YamlMapperFactory;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.swagger.v3.core.jackson.mixin.SchemaMixin;
 import io.swagger.v3.core.util.Json31;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.Schema;
 import org.openapitools.codegen.serializer.OpenAPISerializer;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 public abstract class SerializationUtils {
+    private static final Map<OasFormat, ObjectMapper> shared = new EnumMap<>(Map.of(
+            OasFormat.yaml, yamlMapper(),
+            OasFormat.json, jsonMapper(),
+            OasFormat.smile, smileMapper(),
+            OasFormat.cbor, cborMapper()
+    ));
+    private static final ObjectMapper sharedYaml = shared.get(OasFormat.yaml);
+    private static final ObjectReader yamlReader = sharedYaml.reader();
+    private static final ObjectReader jsonReader = shared.get(OasFormat.json).reader();
+    private static final ObjectWriter yamlWriter = sharedYaml.writer();
+    private static final ObjectWriter jsonWriter = shared.get(OasFormat.json).writer();
+
+    /**
+     * Shared, thread-safe reader of YAML documents.
+     * Preferred over {@link #yamlMapper()}, which configures a new mapper on each call.
+     * @return YAML reader
+     */
+    public static ObjectReader yamlReader() {
+        return yamlReader;
+    }
+
+    /**
+     * Shared, thread-safe reader of JSON documents.
+     * @return JSON reader
+     */
+    public static ObjectReader jsonReader() {
+        return jsonReader;
+    }
+
+    /**
+     * Shared, thread-safe writer of OAS in YAML.
+     * Preferred over {@link #yamlMapper()}, which configures a new mapper on each call.
+     * @return YAML writer
+     */
+    public static ObjectWriter yamlWriter() {
+        return yamlWriter;
+    }
+
+    /**
+     * Shared, thread-safe writer of OAS in JSON.
+     * @return JSON writer
+     */
+    public static ObjectWriter jsonWriter() {
+        return jsonWriter;
+    }
+
+    /**
+     * Shared, thread-safe reader of documents in a given format.
+     * @param format document format
+     * @return reader
+     */
+    public static ObjectReader reader(OasFormat format) {
+        return shared.get(format).reader();
+    }
+
+    /**
+     * Shared, thread-safe writer of OAS in a given format.
+     * @param format output format
+     * @return writer
+     */
+    public static ObjectWriter writer(OasFormat format) {
+        return shared.get(format).writer();
+    }
+
+    /**
+     * Convert OAS model to a tree, as it would be written by {@link #yamlWriter()}
+     * @param value model to convert
+     * @return tree representation
+     */
+    public static JsonNode toTree(Object value) {
+        return sharedYaml.valueToTree(value);
+    }
 
     public static ObjectMapper yamlMapper() {
         return enhance(new YamlMapperFactory().createYaml());
@@ -40,6 +121,16 @@ public abstract class SerializationUtils {
         return enhance(Json31.mapper());
     }
 
+    public static ObjectMapper smileMapper() {
+        return enhance(Json31.mapper().copyWith(new SmileFactory()));
+    }
+
+    public static ObjectMapper cborMapper() {
+        return enhance(Json31.mapper().copyWith(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.WRITE_TYPE_HEADER)
+                .build()));
+    }
+
     private static ObjectMapper enhance(ObjectMapper mapper) {
         SimpleModule module = new SimpleModule("OpenAPIModule");
         module.addSerializer(OpenAPI.class, new OpenAPISerializer());
@@ -0,0 +1,144 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.util;
+
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Fast, non-cryptographic 64 bit hashes of schema trees.
+ * Only a subset of the attributes compared by {@link Schema#equals(Object)} is hashed: types, references,
+ * descriptions, common constraints, enums, defaults, extensions, discriminators and subschemas.
+ * Others (e.g. example, multipleOf, exclusiveMinimum, exclusiveMaximum, xml, externalDocs) are not,
+ * and properties are hashed regardless of their order, as in {@link Map#equals(Object)}.
+ * Schemas equal according to {@link Schema#equals(Object)} have equal hashes, but equal hashes do not imply
+ * equal schemas, so callers have to confirm candidates with equals.
+ * Hashes are memoized per schema instance, so schemas must not be modified while an instance is in use.
+ */
+public class StructuralHash {
+    private static final long SEED = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private final Map<Schema<?>, Long> memo = new IdentityHashMap<>();
+
+    /**
+     * @param schema schema to hash (might be null)
+     * @return hash of the schema and all its subschemas
+     */
+    public long of(Schema<?> schema) {
+        if (schema == null) {
+            return 0;
+        }
+        var cached = memo.get(schema);
+        if (cached != null) {
+            return cached;
+        }
+        long h = SEED;
+        h = combine(h, string(schema.getType()));
+        h = combine(h, string(schema.getFormat()));
+        h = combine(h, string(schema.get$ref()));
+        h = combine(h, string(schema.getTitle()));
+        h = combine(h, string(schema.getDescription()));
+        h = combine(h, string(schema.getPattern()));
+        h = combine(h, Objects.hash(schema.getNullable(), schema.getReadOnly(), schema.getWriteOnly(), schema.getDeprecated()));
+        h = combine(h, Objects.hash(schema.getMinimum(), schema.getMaximum(), schema.getMinLength(), schema.getMaxLength(),
+                schema.getMinItems(), schema.getMaxItems(), schema.getUniqueItems()));
+        h = combine(h, Objects.hashCode(schema.getDefault()));
+        h = combine(h, Objects.hashCode(schema.getEnum()));
+        h = combine(h, Objects.hashCode(schema.getRequired()));
+        h = combine(h, Objects.hashCode(schema.getExtensions()));
+        h = combine(h, discriminator(schema.getDiscriminator()));
+        if (schema.getProperties() != null) {
+            long properties = 0;
+            for (var e : schema.getProperties().entrySet()) {
+                properties += mix(combine(string(e.getKey()), of(e.getValue())));
+            }
+            h = combine(h, properties);
+        }
+        h = combine(h, ordered(schema.getAllOf()));
+        h = combine(h, ordered(schema.getOneOf()));
+        h = combine(h, ordered(schema.getAnyOf()));
+        h = combine(h, of(schema.getItems()));
+        h = combine(h, of(schema.getNot()));
+        var additional = schema.getAdditionalProperties();
+        h = combine(h, additional instanceof Schema ? of((Schema<?>) additional) : Objects.hashCode(additional));
+        h = mix(h);
+        memo.put(schema, h);
+        return h;
+    }
+
+    /**
+     * Order insensitive hash of $ref values of the schemas
+     * @param references schemas referencing other schemas
+     * @return hash
+     */
+    public static long ofReferences(Collection<Schema> references) {
+        long h = 0;
+        for (var r : references) {
+            h += mix(string(r.get$ref()));
+        }
+        return mix(combine(SEED, h));
+    }
+
+    private long ordered(List<Schema> schemas) {
+        if (schemas == null) {
+            return 0;
+        }
+        long h = SEED;
+        for (var s : schemas) {
+            h = combine(h, of(s));
+        }
+        return h;
+    }
+
+    private static long discriminator(Discriminator d) {
+        return d == null ? 0 : combine(string(d.getPropertyName()), Objects.hashCode(d.getMapping()));
+    }
+
+    private static long string(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long h = SEED;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ b) * PRIME;
+        }
+        return h;
+    }
+
+    private static long combine(long h, long value) {
+        return (Long.rotateLeft(h, 31) ^ value) * PRIME;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.parser;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.amartus.blender.RefLoad")
+@Label("External Reference Load")
+@Category("Blender")
+@Description("Load of an external reference during resolution of a product specification")
+@StackTrace(false)
+class RefLoadEvent extends jdk.jfr.Event {
+    @Label("Reference")
+    String ref;
+
+    @Label("Specification")
+    @Description("Location of the specification being resolved")
+    String specification;
+
+    @Label("File Parsed")
+    @Description("Referenced file was parsed by this load, i.e. it was not parsed before during the resolution")
+    boolean parsed;
+
+    @Label("Resolved Before")
+    @Description("Reference was already resolved during the resolution")
+    boolean cached;
+}
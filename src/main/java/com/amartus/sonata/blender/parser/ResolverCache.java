@@ -26,8 +26,11 @@ import io.swagger.v3.parser.util.RefUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.regex.Matcher;
@@ -55,10 +58,16 @@ public class ResolverCache extends io.swagger.v3.parser.ResolverCache {
     private final String rootPath;
     private final Map<String, Object> resolutionCache = new HashMap<>();
     private final Map<String, String> externalFileCache = new HashMap<>();
+    private final Map<String, JsonNode> parsedFileCache = new HashMap<>();
+    private final Set<Path> localFiles = new LinkedHashSet<>();
+    private boolean remoteReferences = false;
+    private int parsedTreeHits = 0;
+    private int parsedTreeMisses = 0;
     private final List<String> referencedModelKeys = new ArrayList<>();
     private final Set<String> resolveValidationMessages;
     private final ParseOptions parseOptions;
     private final DeserializerProvider provider;
+    private final SharedResolverCache shared = SharedResolverCache.instance();
     protected boolean openapi31;
 
     /*
@@ -117,6 +126,22 @@ public class ResolverCache extends io.swagger.v3.parser.ResolverCache {
             }
         }
 
+        var event = new RefLoadEvent();
+        event.begin();
+        var misses = parsedTreeMisses;
+        var cached = event.isEnabled() && resolutionCache.containsKey(ref);
+        T result = loadExternalRef(ref, refFormat, expectedType);
+        if (event.shouldCommit()) {
+            event.ref = ref;
+            event.specification = rootPath;
+            event.parsed = parsedTreeMisses > misses;
+            event.cached = cached;
+            event.commit();
+        }
+        return result;
+    }
+
+    private <T> T loadExternalRef(String ref, RefFormat refFormat, Class<T> expectedType) {
         final String[] refParts = ref.split("#/");
 
         if (refParts.length > 2) {
@@ -142,9 +167,14 @@ public class ResolverCache extends io.swagger.v3.parser.ResolverCache {
         //we have not resolved this particular ref
         //but we may have already loaded the file or url in question
         String contents = externalFileCache.get(file);
+        JsonNode tree = parsedFileCache.get(file);
+        final Path localFile = contents == null || tree == null ? toLocalFile(file) : null;
 
         if (contents == null) {
-            if(parentDirectory != null) {
+            if (localFile != null) {
+                contents = readShared(localFile);
+            }
+            else if(parentDirectory != null) {
                 contents = RefUtils.readExternalRef(file, refFormat, auths, parentDirectory);
             }
             else if(rootPath != null && rootPath.startsWith("http")) {
@@ -155,9 +185,26 @@ public class ResolverCache extends io.swagger.v3.parser.ResolverCache {
 
             }
             externalFileCache.put(file, contents);
+            if (localFile != null) {
+                localFiles.add(localFile);
+            } else {
+                remoteReferences = true;
+            }
         }
         SwaggerParseResult deserializationUtilResult = new SwaggerParseResult();
-        JsonNode tree = DeserializationUtils.deserializeIntoTree(contents, file, parseOptions, deserializationUtilResult);
+        if (tree != null) {
+            parsedTreeHits++;
+        } else {
+            parsedTreeMisses++;
+            if (localFile != null) {
+                var parsed = parseShared(localFile, file);
+                tree = parsed.getTree();
+                deserializationUtilResult.setMessages(new ArrayList<>(parsed.getMessages()));
+            } else {
+                tree = DeserializationUtils.deserializeIntoTree(contents, file, parseOptions, deserializationUtilResult);
+            }
+            parsedFileCache.put(file, tree);
+        }
 
         if (definitionPath == null) {
             T result = null;
@@ -214,6 +261,44 @@ public class ResolverCache extends io.swagger.v3.parser.ResolverCache {
         return result;
     }
 
+    /**
+     * Resolve reference to a local file that can be served from {@link SharedResolverCache}
+     * @param file file part of the reference
+     * @return absolute path or null if reference does not point to existing local file
+     */
+    private Path toLocalFile(String file) {
+        if (parentDirectory == null || file.startsWith("http:") || file.startsWith("https:")
+                || file.startsWith("jar:") || file.startsWith("file:")) {
+            return null;
+        }
+        try {
+            var path = parentDirectory.resolve(file).normalize();
+            return Files.isRegularFile(path) ? path.toAbsolutePath() : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private String readShared(Path file) {
+        try {
+            return shared.contents(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to load " + file, e);
+        }
+    }
+
+    private SharedResolverCache.Parsed parseShared(Path file, String location) {
+        try {
+            var parsed = shared.tree(file, location, parseOptions);
+            if (parsed.getTree() == null) {
+                throw new RuntimeException(String.join("\n", parsed.getMessages()));
+            }
+            return parsed;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to load " + file, e);
+        }
+    }
+
     private <T> T deserializeFragment(JsonNode node, Class<T> expectedType, String file, String definitionPath) {
         OpenAPIDeserializer deserializer = provider.deserializer();
         OpenAPIDeserializer.ParseResult parseResult = new OpenAPIDeserializer.ParseResult();
@@ -405,6 +490,34 @@ public class ResolverCache extends io.swagger.v3.parser.ResolverCache {
         return Collections.unmodifiableMap(renameCache);
     }
 
+    /**
+     * @return local files loaded by this cache
+     */
+    public Set<Path> getLocalFiles() {
+        return Collections.unmodifiableSet(localFiles);
+    }
+
+    /**
+     * @return true if any of the loaded external documents is not a local file
+     */
+    public boolean hasRemoteReferences() {
+        return remoteReferences;
+    }
+
+    /**
+     * @return number of references served from already parsed external files
+     */
+    public int getParsedTreeHits() {
+        return parsedTreeHits;
+    }
+
+    /**
+     * @return number of external files parsed by this cache
+     */
+    public int getParsedTreeMisses() {
+        return parsedTreeMisses;
+    }
+
     public ParseOptions getParseOptions() {
         return parseOptions;
     }
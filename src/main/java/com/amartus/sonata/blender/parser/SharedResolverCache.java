@@ -0,0 +1,250 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.parser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.DeserializationUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Process wide cache of local files used by {@link ResolverCache} instances.
+ * It keeps raw file contents and parsed trees, so files shared by many product specifications
+ * (e.g. common type libraries) are read and parsed once per run.
+ * Entries are keyed by absolute path and invalidated when file modification time or size changes.
+ * Parsed trees are kept per set of parse options affecting the result and readers get their own copies.
+ * The least recently used entries are dropped once total size of cached files exceeds the limit,
+ * so the cache stays bounded in long-running processes.
+ * Thread-safe.
+ */
+public class SharedResolverCache {
+    /** Default limit of cached file contents, in characters */
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+    private static final SharedResolverCache INSTANCE = new SharedResolverCache();
+    private static final ThreadLocal<Set<Path>> RECORDING = new ThreadLocal<>();
+
+    private final long maxSize;
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size = 0;
+
+    public SharedResolverCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize limit of cached file contents, in characters
+     */
+    public SharedResolverCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public static SharedResolverCache instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Read file contents
+     * @param file file to read
+     * @return file contents
+     * @throws IOException if file cannot be read
+     */
+    public String contents(Path file) throws IOException {
+        return entry(file).contents;
+    }
+
+    /**
+     * Read and parse a file
+     * @param file file to read
+     * @param location location reported in parsing messages
+     * @param options parsing options
+     * @return parsed tree, a copy owned by the caller, with parsing messages; no tree if file cannot be parsed
+     * @throws IOException if file cannot be read
+     */
+    public Parsed tree(Path file, String location, ParseOptions options) throws IOException {
+        var parsed = entry(file).parse(location, options);
+        return parsed.tree == null ? parsed : new Parsed(parsed.tree.deepCopy(), parsed.messages);
+    }
+
+    /**
+     * Drop cached data of a file, e.g. when it is known that it will not be used again
+     * @param file file to forget
+     */
+    public synchronized void evict(Path file) {
+        remove(file.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Run an action recording files it adds to the cache from the current thread,
+     * so they can be evicted later without affecting entries of other users of the cache.
+     * @param added set of added files, shared by threads recording to it, so it has to be thread-safe
+     * @param action action to run
+     * @param <T> result type
+     * @return action result
+     */
+    public <T> T recording(Set<Path> added, Supplier<T> action) {
+        var previous = RECORDING.get();
+        RECORDING.set(added);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                RECORDING.remove();
+            } else {
+                RECORDING.set(previous);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    private Entry entry(Path file) throws IOException {
+        var key = file.toAbsolutePath().normalize();
+        var stamp = Stamp.of(key);
+        synchronized (this) {
+            var entry = entries.get(key);
+            if (entry != null && entry.stamp.equals(stamp)) {
+                return entry;
+            }
+        }
+        // file is read outside the lock, concurrent readers of the same file might both read it
+        var entry = new Entry(stamp, Files.readString(key, StandardCharsets.UTF_8));
+        Optional.ofNullable(RECORDING.get()).ifPresent(added -> added.add(key));
+        synchronized (this) {
+            remove(key);
+            entries.put(key, entry);
+            size += entry.contents.length();
+            var eldest = entries.entrySet().iterator();
+            while (size > maxSize && entries.size() > 1) {
+                var e = eldest.next();
+                size -= e.getValue().contents.length();
+                eldest.remove();
+            }
+        }
+        return entry;
+    }
+
+    private void remove(Path key) {
+        var removed = entries.remove(key);
+        if (removed != null) {
+            size -= removed.contents.length();
+        }
+    }
+
+    public static class Parsed {
+        private final JsonNode tree;
+        private final List<String> messages;
+
+        private Parsed(JsonNode tree, List<String> messages) {
+            this.tree = tree;
+            this.messages = messages;
+        }
+
+        public JsonNode getTree() {
+            return tree;
+        }
+
+        public List<String> getMessages() {
+            return messages;
+        }
+    }
+
+    private static class Stamp {
+        private final long modified;
+        private final long size;
+
+        private Stamp(long modified, long size) {
+            this.modified = modified;
+            this.size = size;
+        }
+
+        static Stamp of(Path file) throws IOException {
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new Stamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Stamp stamp = (Stamp) o;
+            return modified == stamp.modified && size == stamp.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(modified, size);
+        }
+    }
+
+    private static class Entry {
+        private final Stamp stamp;
+        private final String contents;
+        private final Map<Boolean, Parsed> parsed = new LinkedHashMap<>(2);
+
+        private Entry(Stamp stamp, String contents) {
+            this.stamp = stamp;
+            this.contents = contents;
+        }
+
+        /**
+         * Legacy YAML deserialization is the only option affecting parsing result.
+         * Location is used only in messages of parsing errors, so failed parses are not cached
+         * and each caller gets messages with its own location.
+         * Malformed contents are reported the same way, with a missing tree.
+         */
+        synchronized Parsed parse(String location, ParseOptions options) {
+            var cached = parsed.get(options.isLegacyYamlDeserialization());
+            if (cached != null) {
+                return cached;
+            }
+            var result = new SwaggerParseResult();
+            JsonNode tree;
+            try {
+                tree = DeserializationUtils.deserializeIntoTree(contents, location, options, result);
+            } catch (RuntimeException e) {
+                return new Parsed(null, List.of("Unable to parse " + location + ": " + e.getMessage()));
+            }
+            var messages = Optional.ofNullable(result.getMessages()).map(List::copyOf).orElse(List.of());
+            var current = new Parsed(tree, messages);
+            if (tree != null) {
+                parsed.put(options.isLegacyYamlDeserialization(), current);
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.amartus.sonata.blender.cmd;
+
+import com.amartus.Utils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchTest {
+
+    @Test
+    public void jobsDoNotShareModifiedSchemas(@TempDir Path dir) throws IOException {
+        var api = Utils.toPath("oas", "test-spec.yaml").toAbsolutePath();
+        var manifest = dir.resolve("manifest.yaml");
+        Files.writeString(manifest, String.join("\n",
+                "specRootDir: " + api.getParent(),
+                "jobs:",
+                "  - input: " + api,
+                "    output: " + dir.resolve("first.yaml"),
+                "    model: Placeholder",
+                "    allSchemas: all",
+                "  - input: " + api,
+                "    output: " + dir.resolve("second.yaml"),
+                "    model: Placeholder",
+                "    allSchemas: all",
+                "  - input: " + api,
+                "    output: " + dir.resolve("sorted.yaml"),
+                "    model: Placeholder",
+                "    allSchemas: all",
+                "    sorted: true",
+                ""));
+
+        var batch = new Batch();
+        batch.manifest = manifest.toString();
+        batch.run();
+
+        assertTrue(Files.isRegularFile(dir.resolve("sorted.yaml")));
+        assertEquals(Files.readString(dir.resolve("first.yaml")), Files.readString(dir.resolve("second.yaml")));
+    }
+
+    @Test
+    public void resolvesPathsAgainstManifestAndReportsUnreadableApi(@TempDir Path dir) throws IOException {
+        var api = Utils.toPath("oas", "test-spec.yaml").toAbsolutePath();
+        Files.copy(api, dir.resolve("api.yaml"));
+        var manifest = dir.resolve("manifest.yaml");
+        Files.writeString(manifest, String.join("\n",
+                "specRootDir: .",
+                "jobs:",
+                "  - input: api.yaml",
+                "    output: out/blended.yaml",
+                "    model: Placeholder",
+                "    allSchemas: all",
+                "  - input: missing.yaml",
+                "    output: out/missing.yaml",
+                "    model: Placeholder",
+                "    allSchemas: all",
+                ""));
+        Files.createDirectories(dir.resolve("out"));
+
+        var batch = new Batch();
+        batch.manifest = manifest.toString();
+        var e = assertThrows(IllegalStateException.class, batch::run);
+
+        assertTrue(Files.isRegularFile(dir.resolve("out").resolve("blended.yaml")));
+        assertEquals("Failed jobs: out/missing.yaml", e.getMessage());
+    }
+}
@@ -0,0 +1,34 @@
+package com.amartus.sonata.blender.cmd;
+
+import com.amartus.Utils;
+import com.amartus.sonata.blender.Blender;
+import com.amartus.sonata.blender.impl.util.OasFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConvertTest {
+
+    @Test
+    public void binaryMergeOutputConvertsBackToYaml(@TempDir Path dir) throws IOException {
+        var root = Utils.toPath("mini-model").toAbsolutePath().toString();
+        run("merge", "-d", root, "-b", "model-js.json", "-m", "Placeholder", "-o", dir.resolve("merged.yaml").toString());
+        run("merge", "-d", root, "-b", "model-js.json", "-m", "Placeholder", "--format", "smile", "-o", dir.resolve("merged.smile").toString());
+
+        assertEquals(OasFormat.smile, OasFormat.detect(dir.resolve("merged.smile")));
+
+        run("convert", "-i", dir.resolve("merged.smile").toString(), "-o", dir.resolve("converted.yaml").toString());
+        run("convert", "-i", dir.resolve("merged.yaml").toString(), "-o", dir.resolve("reference.yaml").toString());
+
+        assertEquals(Files.readString(dir.resolve("reference.yaml")), Files.readString(dir.resolve("converted.yaml")));
+    }
+
+    private static void run(String... args) {
+        Blender.builder().build().parse(args).run();
+    }
+}
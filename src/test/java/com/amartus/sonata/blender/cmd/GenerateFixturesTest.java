@@ -0,0 +1,31 @@
+package com.amartus.sonata.blender.cmd;
+
+import com.amartus.sonata.blender.Blender;
+import com.amartus.sonata.blender.impl.util.OasUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GenerateFixturesTest {
+
+    @Test
+    public void generatedCatalogBlendsWithAllSchemas(@TempDir Path dir) {
+        var root = dir.resolve("catalog");
+        run("generate-fixtures", "-o", root.toString(), "--products", "4", "--common-types", "5");
+        run("blend", "-i", root.resolve("base.yaml").toString(), "-d", root.toString(), "-all", "all",
+                "-m", "MEFProductConfiguration", "-o", dir.resolve("blended.yaml").toString());
+
+        var schemas = OasUtils.readOas(dir.resolve("blended.yaml").toString(), false).getComponents().getSchemas();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(schemas.containsKey("Product" + i), "Product" + i);
+        }
+        assertTrue(schemas.containsKey("Common1Type0"));
+    }
+
+    private static void run(String... args) {
+        Blender.builder().build().parse(args).run();
+    }
+}
@@ -0,0 +1,46 @@
+package com.amartus.sonata.blender.cmd;
+
+import com.amartus.Utils;
+import com.amartus.sonata.blender.Blender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsReportTest {
+
+    @Test
+    public void mergeReportsPhasesAndSpecifications(@TempDir Path dir) throws IOException {
+        var root = Utils.toPath("mini-model").toAbsolutePath().toString();
+        Blender.builder().build().parse("merge", "-d", root, "-b", "model-js.json", "-m", "Placeholder",
+                "--parallelism", "1",
+                "-o", dir.resolve("merged.yaml").toString(),
+                "--metrics-report", dir.resolve("metrics.json").toString()).run();
+
+        var entries = new ObjectMapper().readTree(dir.resolve("metrics.json").toFile()).get("entries");
+        List<String> phases = new ArrayList<>();
+        List<String> resolved = new ArrayList<>();
+        List<String> postprocessors = new ArrayList<>();
+        entries.forEach(e -> {
+            var name = e.get("name").textValue();
+            switch (e.get("group").textValue()) {
+                case "phase": phases.add(name); break;
+                case "resolve": resolved.add(name); break;
+                case "postprocess": postprocessors.add(name); break;
+                default:
+            }
+        });
+
+        assertEquals(List.of("read-base-oas", "resolve", "merge", "postprocess", "write"), phases);
+        assertEquals(1, resolved.size());
+        assertTrue(resolved.get(0).endsWith("model-js.json"), resolved.get(0));
+        assertTrue(postprocessors.contains("RenameTypesPostprocessor"));
+    }
+}
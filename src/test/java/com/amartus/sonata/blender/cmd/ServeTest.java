@@ -0,0 +1,180 @@
+package com.amartus.sonata.blender.cmd;
+
+import com.amartus.Utils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServeTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    @TempDir
+    Path dir;
+    private Serve serve;
+    private String base;
+    private String token;
+
+    @BeforeEach
+    public void start() throws Exception {
+        serve = new Serve();
+        serve.port = 0;
+        serve.tokenFile = dir.resolve("serve.token").toString();
+        var address = serve.start();
+        base = "http://localhost:" + address.getPort();
+        token = Files.readString(Path.of(serve.tokenFile));
+    }
+
+    @AfterEach
+    public void stop() {
+        serve.stop();
+    }
+
+    @Test
+    public void writesTokenReadableByOwnerOnly() throws Exception {
+        assertEquals(64, token.length());
+        assertEquals(PosixFilePermissions.fromString("rw-------"),
+                Files.getPosixFilePermissions(Path.of(serve.tokenFile)));
+    }
+
+    @Test
+    public void executesMergeRequests() throws Exception {
+        var output = dir.resolve("merged.yaml");
+        var args = List.of(
+                "-d", Utils.toPath("mini-model").toAbsolutePath().toString(),
+                "-b", "model-js.json",
+                "-o", output.toString(), "-f");
+
+        var first = send(request("/merge", Map.of("args", args)).build());
+        assertEquals(200, first.statusCode(), first.body());
+        assertTrue(Files.isRegularFile(output));
+        var content = Files.readString(output);
+
+        var second = send(request("/merge", Map.of("args", args)).build());
+        assertEquals(200, second.statusCode(), second.body());
+        assertEquals(content, Files.readString(output));
+    }
+
+    @Test
+    public void resolvesRelativePathsAgainstClientDirectory() throws Exception {
+        var args = List.of("-b", "model-js.json", "-o", "merged.yaml", "-f");
+        var cwd = Utils.toPath("mini-model").toAbsolutePath();
+        var relative = send(request("/merge", Map.of("args", args)).build());
+        assertEquals(400, relative.statusCode());
+
+        var output = dir.resolve("merged.yaml");
+        var resolved = Serve.resolve(request(cwd, List.of("-b", "model-js.json", "-o", "../merged.yaml")));
+        assertEquals(List.of("-b", "model-js.json", "-o", cwd.getParent().resolve("merged.yaml").toString(), "-d", cwd.toString()), resolved);
+
+        var response = send(request("/merge", Map.of("cwd", dir.toString(), "args",
+                List.of("-d", cwd.toString(), "-b", "model-js.json", "-o", "merged.yaml", "-f"))).build());
+        assertEquals(200, response.statusCode(), response.body());
+        assertTrue(Files.isRegularFile(output));
+    }
+
+    @Test
+    public void resolvesPathsGivenWithEqualsSign() {
+        var cwd = Utils.toPath("mini-model").toAbsolutePath();
+
+        var resolved = Serve.resolve(request(cwd, List.of("-b", "model-js.json", "--output=../merged.yaml", "--spec-root-dir=.")));
+
+        assertEquals(List.of("-b", "model-js.json",
+                "--output=" + cwd.getParent().resolve("merged.yaml"),
+                "--spec-root-dir=" + cwd), resolved);
+    }
+
+    @Test
+    public void rejectsUnauthenticatedRequests() throws Exception {
+        var args = Map.of("cwd", dir.toString(), "args", List.of("-b", "model-js.json"));
+        var missing = send(HttpRequest.newBuilder(URI.create(base + "/merge"))
+                .header("Content-Type", "application/json")
+                .POST(body(args)).build());
+        assertEquals(401, missing.statusCode());
+
+        var wrong = send(HttpRequest.newBuilder(URI.create(base + "/merge"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + "0".repeat(64))
+                .POST(body(args)).build());
+        assertEquals(401, wrong.statusCode());
+    }
+
+    @Test
+    public void rejectsBrowserRequests() throws Exception {
+        var args = Map.of("cwd", dir.toString(), "args", List.of("-b", "model-js.json"));
+        var crossOrigin = send(request("/merge", args).header("Origin", "https://example.com").build());
+        assertEquals(403, crossOrigin.statusCode());
+
+        var plainText = send(request("/merge", args).setHeader("Content-Type", "text/plain").build());
+        assertEquals(415, plainText.statusCode());
+
+        var get = send(HttpRequest.newBuilder(URI.create(base + "/shutdown")).GET().build());
+        assertEquals(405, get.statusCode());
+        assertFalse(serve.awaitShutdown(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void rejectsForeignHost() throws Exception {
+        var uri = URI.create(base);
+        try (var socket = new Socket(uri.getHost(), uri.getPort())) {
+            var request = "POST /shutdown HTTP/1.1\r\n" +
+                    "Host: attacker.example.com:" + uri.getPort() + "\r\n" +
+                    "Authorization: Bearer " + token + "\r\n" +
+                    "Content-Type: application/json\r\n" +
+                    "Content-Length: 2\r\n" +
+                    "Connection: close\r\n\r\n{}";
+            socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+            var status = new String(socket.getInputStream().readAllBytes(), StandardCharsets.US_ASCII).lines().findFirst();
+            assertEquals(Optional.of("HTTP/1.1 403 Forbidden"), status);
+        }
+        assertFalse(serve.awaitShutdown(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void stopsOnShutdownRequest() throws Exception {
+        var response = send(request("/shutdown", Map.of()).build());
+        assertEquals(200, response.statusCode(), response.body());
+        assertTrue(serve.awaitShutdown(5, TimeUnit.SECONDS));
+        serve.stop();
+        assertFalse(Files.exists(Path.of(serve.tokenFile)));
+    }
+
+    private HttpRequest.Builder request(String path, Map<String, ?> body) throws Exception {
+        return HttpRequest.newBuilder(URI.create(base + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(body(body));
+    }
+
+    private static Serve.Request request(Path cwd, List<String> args) {
+        var request = new Serve.Request();
+        request.cwd = cwd.toString();
+        request.args = args;
+        return request;
+    }
+
+    private static HttpRequest.BodyPublisher body(Object body) throws Exception {
+        return HttpRequest.BodyPublishers.ofString(new ObjectMapper().writeValueAsString(body));
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
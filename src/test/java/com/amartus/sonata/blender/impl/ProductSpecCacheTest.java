@@ -0,0 +1,58 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.impl;
+
+import com.amartus.Utils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductSpecCacheTest {
+    private final ProductSpecReader.Options options = ProductSpecReader.Options.forName("testToAugment");
+
+    @Test
+    public void reusesEntryUntilDependencyChanges(@TempDir Path dir) throws IOException {
+        var model = dir.resolve("model");
+        Files.createDirectories(model);
+        for (var name : List.of("model-js.json", "common-js.json")) {
+            Files.copy(Utils.toPath("mini-model", name), model.resolve(name));
+        }
+        var spec = Pair.of(model.resolve("model-js.json"), "");
+        var cache = new ProductSpecCache(dir.resolve("cache"));
+        var key = ProductSpecCache.key(options, spec);
+
+        var resolved = new ProductSpecLoader(options).cache(cache).load(List.of(spec));
+        var cached = cache.lookup(key);
+
+        assertTrue(cached.isPresent());
+        assertEquals(resolved.get(0).getRight(), cached.get());
+        assertEquals(resolved, new ProductSpecLoader(options).cache(cache).load(List.of(spec)));
+
+        Files.writeString(model.resolve("common-js.json"), " ", StandardOpenOption.APPEND);
+        assertTrue(cache.lookup(key).isEmpty());
+    }
+}
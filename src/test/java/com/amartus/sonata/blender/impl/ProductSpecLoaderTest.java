@@ -0,0 +1,79 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.amartus.sonata.blender.impl;
+
+import com.amartus.Utils;
+import com.amartus.sonata.blender.parser.SharedResolverCache;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductSpecLoaderTest {
+    private final List<Pair<Path, String>> specifications = List.of(
+            Pair.of(Utils.toPath("mini-model", "model-js.json"), ""),
+            Pair.of(Utils.toPath("mini-model", "model-oas.yaml"), "#/components/schemas/ModelOAS"),
+            Pair.of(Utils.toPath("ref-model", "root.yaml"), "#/components/schemas/Root"),
+            Pair.of(Utils.toPath("protect-descriptions", "typeRoot.yaml"), "")
+    );
+
+    @Test
+    public void parallelResolutionKeepsInputOrder() {
+        var options = ProductSpecReader.Options.forName("testToAugment");
+        var serial = new ProductSpecLoader(options).load(specifications);
+        var parallel = new ProductSpecLoader(options).parallelism(4).load(specifications);
+
+        assertEquals(
+                specifications,
+                parallel.stream().map(Pair::getLeft).collect(Collectors.toList()));
+        assertEquals(serial, parallel);
+    }
+
+    @Test
+    public void lowMemoryResolutionStreamsSameResult() throws IOException {
+        var options = ProductSpecReader.Options.forName("testToAugment");
+        var expected = new ProductSpecLoader(options).load(specifications);
+
+        // files cached by other users of the shared cache are kept
+        var cache = SharedResolverCache.instance();
+        cache.clear();
+        cache.contents(Utils.toPath("oas", "test-spec.yaml"));
+
+        var streamed = new ArrayList<Pair<Pair<Path, String>, Map<String, Schema<?>>>>();
+        new ProductSpecLoader(options).parallelism(2).lowMemory(true)
+                .load(specifications, (s, schemas) -> streamed.add(Pair.of(s, schemas)));
+
+        assertEquals(expected, streamed);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void failsForNonPositiveParallelism() {
+        var loader = new ProductSpecLoader(ProductSpecReader.Options.forName("testToAugment"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> loader.parallelism(0));
+    }
+}
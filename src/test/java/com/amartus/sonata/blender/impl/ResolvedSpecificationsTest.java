@@ -0,0 +1,60 @@
+package com.amartus.sonata.blender.impl;
+
+import com.amartus.Utils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResolvedSpecificationsTest {
+
+    @Test
+    public void resolvesOnceAndHandsOutCopies() {
+        var options = ProductSpecReader.Options.forName("testToAugment");
+        var spec = Pair.of(Utils.toPath("mini-model", "model-js.json"), "");
+        var shared = new ResolvedSpecifications();
+        var resolutions = new AtomicInteger();
+
+        var first = shared.get(options, spec, () -> {
+            resolutions.incrementAndGet();
+            return new ProductSpecReader("testToAugment", spec.getLeft()).readSchemas();
+        });
+        first.get("model-js.json").setDescription("modified");
+        first.remove("EnumA");
+        var second = shared.get(options, spec, () -> {
+            resolutions.incrementAndGet();
+            return Map.of();
+        });
+
+        assertEquals(1, resolutions.get());
+        assertEquals(7, second.size());
+        assertNull(second.get("model-js.json").getDescription());
+    }
+
+    @Test
+    public void resolverMayUseStoreAndFailuresAreNotKept() {
+        var options = ProductSpecReader.Options.forName("testToAugment");
+        var spec = Pair.of(Utils.toPath("mini-model", "model-js.json"), "");
+        var other = Pair.of(Utils.toPath("mini-model", "model-js.json"), "#/definitions/other");
+        var shared = new ResolvedSpecifications();
+
+        assertThrows(IllegalStateException.class, () -> shared.get(options, spec, () -> {
+            throw new IllegalStateException("failed");
+        }));
+
+        var schemas = shared.get(options, spec, () -> {
+            var nested = shared.get(options, other, HashMap::new);
+            assertTrue(nested.isEmpty());
+            return new ProductSpecReader("testToAugment", spec.getLeft()).readSchemas();
+        });
+        assertEquals(7, schemas.size());
+        assertEquals(2, shared.size());
+    }
+}
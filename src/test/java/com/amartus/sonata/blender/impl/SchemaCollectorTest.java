@@ -0,0 +1,76 @@
+package com.amartus.sonata.blender.impl;
+
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaCollectorTest {
+
+    @Test
+    public void keepsFirstOfEqualDefinitions() {
+        var first = common();
+        var collector = new SchemaCollector();
+        collector.add(Pair.of(Path.of("a.yaml"), ""), Map.of("Common", first, "A", new ObjectSchema()));
+        collector.add(Pair.of(Path.of("b.yaml"), ""), Map.of("Common", common(), "B", new ObjectSchema()));
+
+        var schemas = collector.schemas();
+
+        assertEquals(3, schemas.size());
+        assertSame(first, schemas.get("Common"));
+    }
+
+    @Test
+    public void reportsConflictingDefinitions() {
+        var collector = new SchemaCollector();
+        collector.add(Pair.of(Path.of("a.yaml"), ""), Map.of("Common", common()));
+        collector.add(Pair.of(Path.of("b.yaml"), "Spec"), Map.of("Common", common()));
+        collector.add(Pair.of(Path.of("c.yaml"), ""), Map.of("Common", common().description("changed")));
+
+        var e = assertThrows(IllegalArgumentException.class, collector::schemas);
+
+        assertTrue(e.getMessage().contains("Schema Common defined  2 times"));
+        assertTrue(e.getMessage().contains(Path.of("b.yaml").toAbsolutePath() + "#Spec"));
+        assertTrue(e.getMessage().contains("Group 2:\n" + Path.of("c.yaml").toAbsolutePath()));
+    }
+
+    @Test
+    public void groupsEqualDefinitionsWithPropertiesInDifferentOrder() {
+        var collector = new SchemaCollector();
+        collector.add(Pair.of(Path.of("a.yaml"), ""), Map.of("Common", extended("id")));
+        collector.add(Pair.of(Path.of("b.yaml"), ""), Map.of("Common", extended("id", "kind")));
+        collector.add(Pair.of(Path.of("c.yaml"), ""), Map.of("Common", extended("kind", "id")));
+        collector.add(Pair.of(Path.of("d.yaml"), ""), Map.of("Common", new ObjectSchema()
+                .addProperty("id", new StringSchema())
+                .addProperty("name", new StringSchema())));
+
+        var e = assertThrows(IllegalArgumentException.class, collector::schemas);
+
+        assertTrue(e.getMessage().contains("Schema Common defined  2 times"), e.getMessage());
+        assertTrue(e.getMessage().contains("Group 1:\n" + Path.of("a.yaml").toAbsolutePath() + "\n"
+                + Path.of("d.yaml").toAbsolutePath()), e.getMessage());
+        assertTrue(e.getMessage().contains("Group 2:\n" + Path.of("b.yaml").toAbsolutePath() + "\n"
+                + Path.of("c.yaml").toAbsolutePath()), e.getMessage());
+    }
+
+    private static Schema<?> extended(String... properties) {
+        var schema = common();
+        for (var p : properties) {
+            schema.addProperty(p, new StringSchema());
+        }
+        return schema;
+    }
+
+    private static Schema<?> common() {
+        return new ObjectSchema().addProperty("name", new StringSchema());
+    }
+}
@@ -0,0 +1,91 @@
+package com.amartus.sonata.blender.impl;
+
+import com.amartus.Utils;
+import com.amartus.sonata.blender.impl.util.OasUtils;
+import com.amartus.sonata.blender.impl.util.SerializationUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpecValidatorTest {
+
+    @Test
+    public void validDocumentHasNoIssues() throws IOException {
+        var document = SerializationUtils.toTree(OasUtils.readOas(Utils.toPath("oas", "test-spec.yaml").toString()));
+        var validator = SpecValidator.fromClasspath();
+
+        assertTrue(validator.validate(document).isEmpty());
+        assertTrue(validator.validate(document, 4).isEmpty());
+    }
+
+    @Test
+    public void shardedIssuesHaveJsonPointerLocations() throws IOException {
+        var document = SerializationUtils.yamlReader().readTree(String.join("\n",
+                "openapi: 3.0.1",
+                "info: {title: test, version: '1'}",
+                "paths:",
+                "  /a/{id}:",
+                "    get: {responses: 5}",
+                "components:",
+                "  schemas:",
+                "    Good: {type: string}",
+                "    Bad/Name: {type: object, required: 5}",
+                ""));
+        var validator = SpecValidator.fromClasspath();
+
+        var locations = validator.validate(document, 4).stream()
+                .map(SpecValidator.Issue::getLocation)
+                .collect(Collectors.toSet());
+
+        assertTrue(locations.contains("/paths/~1a~1{id}/get/responses"), locations.toString());
+        assertTrue(locations.stream().anyMatch(l -> l.startsWith("/components/schemas/Bad~1Name")), locations.toString());
+        assertTrue(locations.stream().noneMatch(l -> l.startsWith("/components/schemas/Good")), locations.toString());
+        assertEquals(locations, validator.validate(document, 1).stream()
+                .map(SpecValidator.Issue::getLocation)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void concurrentValidationOfManyShardsMatchesSerialOne() throws IOException {
+        var lines = new ArrayList<>(List.of(
+                "openapi: 3.0.1",
+                "info: {title: test, version: '1'}",
+                "paths:"));
+        for (int i = 0; i < 200; i++) {
+            lines.add("  /p" + i + ":");
+            lines.add(i % 10 == 0
+                    ? "    get: {responses: 5}"
+                    : "    get: {responses: {'200': {description: ok, content: {application/json: {schema: {$ref: '#/components/schemas/S" + i + "'}}}}}}");
+        }
+        lines.add("components:");
+        lines.add("  schemas:");
+        for (int i = 0; i < 2000; i++) {
+            lines.add(i % 7 == 0
+                    ? "    S" + i + ": {type: object, required: 5, properties: {a: {$ref: '#/components/schemas/S" + (i + 1) + "'}}}"
+                    : "    S" + i + ": {type: object, properties: {a: {type: string, enum: [x, y]}, b: {type: array, items: {$ref: '#/components/schemas/S" + (i + 1) + "'}}}}");
+        }
+        lines.add("");
+        var document = SerializationUtils.yamlReader().readTree(String.join("\n", lines));
+        var spec = SerializationUtils.jsonReader()
+                .readTree(SpecValidator.class.getResourceAsStream("/schemas/3.0/schema.json"));
+
+        var expected = new SpecValidator(spec).validate(document, 1).stream()
+                .map(SpecValidator.Issue::toString)
+                .collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+        for (int i = 0; i < 5; i++) {
+            // a fresh validator each time, so concurrent shards are the first to use it
+            var issues = new SpecValidator(spec).validate(document, 8).stream()
+                    .map(SpecValidator.Issue::toString)
+                    .collect(Collectors.toList());
+            assertEquals(expected, issues);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.amartus.sonata.blender.impl.events;
+
+import com.amartus.sonata.blender.impl.BlendingService;
+import com.amartus.sonata.blender.impl.ProductSpecReader;
+import com.amartus.sonata.blender.impl.postprocess.ComposedPostprocessor;
+import com.amartus.sonata.blender.impl.util.CatalogGenerator;
+import com.amartus.sonata.blender.impl.util.IdSchemaResolver;
+import com.amartus.sonata.blender.impl.util.OasUtils;
+import com.amartus.sonata.blender.impl.util.OasWriter;
+import io.swagger.v3.oas.models.media.Schema;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlenderEventsTest {
+
+    @Test
+    public void blendEmitsEvents(@TempDir Path dir) throws IOException {
+        var catalog = new CatalogGenerator()
+                .products(2)
+                .typesPerProduct(2)
+                .commonTypes(4)
+                .generate(dir.resolve("catalog"));
+        var output = dir.resolve("out.yaml");
+
+        List<RecordedEvent> events;
+        try (var recording = new Recording()) {
+            recording.enable("com.amartus.blender.*");
+            recording.start();
+
+            var specifications = new IdSchemaResolver("all").findProductSpecifications(catalog.getRoot());
+            Map<String, Schema> schemas = new HashMap<>();
+            for (var spec : specifications) {
+                schemas.putAll(new ProductSpecReader(CatalogGenerator.MODEL_TO_AUGMENT, spec).readSchemas());
+            }
+            var api = new BlendingService(OasUtils.readOas(catalog.getBaseOas().toString()), schemas)
+                    .modelToAugment(CatalogGenerator.MODEL_TO_AUGMENT)
+                    .postprocessor(new ComposedPostprocessor())
+                    .blend();
+            OasWriter.yaml().write(api, output);
+
+            recording.stop();
+            var dump = dir.resolve("events.jfr");
+            recording.dump(dump);
+            events = RecordingFile.readAllEvents(dump);
+        }
+
+        var byType = events.stream().collect(Collectors.groupingBy(e -> e.getEventType().getName()));
+
+        var discovery = byType.get("com.amartus.blender.Discovery");
+        assertEquals(1, discovery.size());
+        assertEquals(2, discovery.get(0).getInt("specifications"));
+
+        var resolutions = byType.get("com.amartus.blender.SpecResolution");
+        assertEquals(2, resolutions.size());
+        resolutions.forEach(e -> {
+            assertTrue(e.getInt("schemas") > 0);
+            assertTrue(e.getInt("refs") >= e.getInt("files"));
+        });
+
+        var refs = byType.get("com.amartus.blender.RefLoad");
+        assertFalse(refs.isEmpty());
+        assertTrue(refs.stream().anyMatch(e -> e.getBoolean("parsed")));
+
+        assertFalse(byType.get("com.amartus.blender.Postprocessor").isEmpty());
+
+        var serialization = byType.get("com.amartus.blender.Serialization");
+        assertEquals(1, serialization.size());
+        assertEquals("yaml", serialization.get(0).getString("format"));
+        assertEquals(Files.size(output), serialization.get(0).getLong("bytes"));
+    }
+}
@@ -0,0 +1,143 @@
+package com.amartus.sonata.blender.impl.postprocess;
+
+import com.amartus.Utils;
+import com.amartus.sonata.blender.impl.MergeSchemasAction;
+import com.amartus.sonata.blender.impl.ProductSpecLoader;
+import com.amartus.sonata.blender.impl.ProductSpecReader;
+import com.amartus.sonata.blender.impl.util.ModelCodec;
+import com.amartus.sonata.blender.impl.util.OasUtils;
+import com.amartus.sonata.blender.impl.util.SerializationUtils;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComposedPostprocessorTest {
+
+    @Test
+    public void fusedPipelineMatchesSequentialOne() throws Exception {
+        var merged = merged();
+        var sequential = ModelCodec.copy(merged, OpenAPI.class);
+        var fused = ModelCodec.copy(merged, OpenAPI.class);
+
+        sequential().forEach(p -> p.accept(sequential));
+        new ComposedPostprocessor().accept(fused);
+
+        var mapper = SerializationUtils.yamlMapper();
+        assertEquals(mapper.writeValueAsString(sequential), mapper.writeValueAsString(fused));
+    }
+
+    @Test
+    public void fusedPipelineMatchesSequentialOneWhenRenaming() throws Exception {
+        var sequential = renaming();
+        var fused = renaming();
+
+        sequential().forEach(p -> p.accept(sequential));
+        new ComposedPostprocessor().accept(fused);
+
+        var mapper = SerializationUtils.yamlMapper();
+        assertEquals(mapper.writeValueAsString(sequential), mapper.writeValueAsString(fused));
+        var schemas = fused.getComponents().getSchemas();
+        assertTrue(schemas.containsKey("AccessEline"));
+        assertTrue(schemas.containsKey("UniSpec"));
+        var part = (Schema<?>) schemas.get("Thing").getProperties().get("part");
+        assertEquals(OasUtils.toSchemRef("AccessEline"), part.get$ref());
+        assertNull(part.getType());
+    }
+
+    @Test
+    public void parallelPipelineMatchesSerialOne() throws Exception {
+        var merged = merged();
+        var serial = ModelCodec.copy(merged, OpenAPI.class);
+
+        new ComposedPostprocessor().accept(serial);
+        new ComposedPostprocessor(4).verify(true).accept(merged);
+
+        var mapper = SerializationUtils.yamlMapper();
+        assertEquals(mapper.writeValueAsString(serial), mapper.writeValueAsString(merged));
+    }
+
+    private static List<Consumer<OpenAPI>> sequential() {
+        return List.of(
+                new RemoveSuperflousTypeDeclarations(),
+                new RenameTypesPostprocessor(ComposedPostprocessor.converter()),
+                new PropertyEnumExternalize(),
+                new ComposedPropertyToType(),
+                new SingleEnumToDiscriminatorValue(),
+                new ConvertOneOfToAllOffInheritance(),
+                new UpdateDiscriminatorMapping(),
+                new ConstrainDiscriminatorValueWithEnum(),
+                new RemoveDefaultParameterValues(),
+                new RemoveSchemaExtensions(Set.of("x-try-renaming-on"))
+        );
+    }
+
+    /**
+     * Model with schemas to rename, ref properties with superfluous types and a schema referenced from nowhere.
+     */
+    private static OpenAPI renaming() {
+        var toRename = new ObjectSchema()
+                .addProperties("unreferenced", new ObjectSchema().$ref(OasUtils.toSchemRef("Unreferenced")));
+        toRename.addExtension("x-try-renaming-on", "urn:mef:lso:spec:sonata:access-eline:v1.0.0:all");
+        var unreferenced = new ComposedSchema()
+                .addAllOfItem(new Schema<>().$ref(OasUtils.toSchemRef("ToRename")))
+                .addAllOfItem(new ObjectSchema()
+                        .addProperties("owner", new ObjectSchema().$ref(OasUtils.toSchemRef("Thing")))
+                        .addProperties("kind", new StringSchema()._enum(List.of("a", "b"))));
+        unreferenced.addExtension("x-try-renaming-on", "urn:mef:lso:spec:sonata:uni-spec:v1.0.0:all");
+        var thing = new ObjectSchema()
+                .addProperties("part", new ObjectSchema().$ref(OasUtils.toSchemRef("ToRename")))
+                .addProperties("parts", new ArraySchema().items(new ObjectSchema().$ref(OasUtils.toSchemRef("ToRename"))))
+                .addProperties("status", new StringSchema()._enum(List.of("a", "b")));
+        var response = new ApiResponse().description("ok").content(new Content().addMediaType("application/json",
+                new MediaType().schema(new Schema<>().$ref(OasUtils.toSchemRef("ToRename")))));
+        return new OpenAPI()
+                .components(new Components()
+                        .addSchemas("Thing", thing)
+                        .addSchemas("ToRename", toRename)
+                        .addSchemas("Unreferenced", unreferenced))
+                .paths(new Paths().addPathItem("/things", new PathItem()
+                        .get(new Operation().responses(new ApiResponses().addApiResponse("200", response)))));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static OpenAPI merged() {
+        var model = "Placeholder";
+        var specifications = new ProductSpecLoader(ProductSpecReader.Options.forName(model)).load(List.of(
+                Pair.of(Utils.toPath("mini-model", "model-js.json"), ""),
+                Pair.of(Utils.toPath("ref-model", "root.yaml"), "#/components/schemas/Root"),
+                Pair.of(Utils.toPath("oas", "toInject.json"), "")
+        ));
+        Map<String, Schema> schemas = new LinkedHashMap<>();
+        specifications.forEach(s -> schemas.putAll(s.getRight()));
+
+        var api = OasUtils.readOas(Utils.toPath("oas", "test-spec.yaml").toString());
+        new MergeSchemasAction(model, MergeSchemasAction.Mode.FIX)
+                .schemasToInject(schemas)
+                .target(api)
+                .execute();
+        return api;
+    }
+}
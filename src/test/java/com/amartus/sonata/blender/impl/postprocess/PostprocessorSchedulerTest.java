@@ -0,0 +1,46 @@
+package com.amartus.sonata.blender.impl.postprocess;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.amartus.sonata.blender.impl.postprocess.ModelAccess.Resource.DISCRIMINATORS;
+import static com.amartus.sonata.blender.impl.postprocess.ModelAccess.Resource.EXTENSIONS;
+import static com.amartus.sonata.blender.impl.postprocess.ModelAccess.Resource.PARAMETERS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostprocessorSchedulerTest {
+
+    @Test
+    public void detectsConflicts() {
+        var extensions = ModelAccess.reads(EXTENSIONS).writes(EXTENSIONS);
+        var discriminators = ModelAccess.reads(EXTENSIONS).writes(DISCRIMINATORS);
+        var parameters = ModelAccess.reads(PARAMETERS).writes(PARAMETERS);
+
+        assertTrue(extensions.conflictsWith(discriminators));
+        assertTrue(discriminators.conflictsWith(extensions));
+        assertFalse(discriminators.conflictsWith(parameters));
+        assertTrue(ModelAccess.EXCLUSIVE.conflictsWith(parameters));
+    }
+
+    @Test
+    public void groupsNonConflictingPostprocessors() {
+        Consumer<OpenAPI> undeclared = api -> {};
+        var mapping = new UpdateDiscriminatorMapping();
+        var parameters = new RemoveDefaultParameterValues();
+        var extensions = new RemoveSchemaExtensions(Set.of("x-test"));
+
+        var scheduler = new PostprocessorScheduler(List.of(undeclared, mapping, parameters, extensions), 4);
+
+        assertEquals(List.of(
+                List.of(undeclared),
+                List.of(mapping, parameters),
+                List.of(extensions)
+        ), scheduler.stages());
+    }
+}
@@ -0,0 +1,43 @@
+package com.amartus.sonata.blender.impl.postprocess;
+
+import com.amartus.sonata.blender.impl.util.OasUtils;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PropertyEnumExternalizeTest {
+
+    @Test
+    public void identicalEnumsOfSamePropertyShareSchema() {
+        var api = new OpenAPI().components(new Components()
+                .addSchemas("A", new ObjectSchema().addProperties("state", enumSchema("on", "off")))
+                .addSchemas("B", new ObjectSchema()
+                        .addProperties("state", enumSchema("on", "off"))
+                        .addProperties("mode", enumSchema("on", "off")))
+                .addSchemas("C", new ObjectSchema().addProperties("state", enumSchema("low", "high"))));
+
+        new PropertyEnumExternalize().accept(api);
+
+        var schemas = api.getComponents().getSchemas();
+        assertEquals(List.of("A", "B", "C", "State", "Mode", "CState"), List.copyOf(schemas.keySet()));
+        assertEquals(OasUtils.toSchemRef("State"), property(schemas.get("A"), "state").get$ref());
+        assertEquals(OasUtils.toSchemRef("State"), property(schemas.get("B"), "state").get$ref());
+        assertEquals(OasUtils.toSchemRef("Mode"), property(schemas.get("B"), "mode").get$ref());
+        assertEquals(OasUtils.toSchemRef("CState"), property(schemas.get("C"), "state").get$ref());
+    }
+
+    private static Schema<?> property(Schema<?> schema, String name) {
+        return schema.getProperties().get(name);
+    }
+
+    private static Schema<?> enumSchema(String... values) {
+        return new StringSchema()._enum(List.of(values));
+    }
+}
@@ -0,0 +1,102 @@
+package com.amartus.sonata.blender.impl.postprocess;
+
+import com.amartus.sonata.blender.impl.util.OasUtils;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RenameTypesPostprocessorTest {
+
+    @Test
+    public void renamesSchemasAndAllReferences() {
+        var api = api();
+
+        new RenameTypesPostprocessor(n -> n.replace("urn:", "")).accept(api);
+
+        var schemas = api.getComponents().getSchemas();
+        assertEquals(List.of("A", "Renamed", "C"), List.copyOf(schemas.keySet()));
+
+        var a = schemas.get("A");
+        var expected = OasUtils.toSchemRef("Renamed");
+        assertEquals(expected, ((Schema<?>) a.getProperties().get("b")).get$ref());
+        assertEquals(expected, ((Schema<?>) a.getAdditionalProperties()).get$ref());
+        assertEquals(expected, ((ComposedSchema) schemas.get("C")).getOneOf().get(0).get$ref());
+
+        var operation = api.getPaths().get("/a").getGet();
+        assertEquals(expected, operation.getParameters().get(0).getSchema().get$ref());
+        assertEquals(expected, operation.getResponses().get("200").getHeaders().get("h").getSchema().get$ref());
+    }
+
+    @Test
+    public void renamesReferencesInCompositionMappingsAndBodies() {
+        var api = api();
+        var schemas = api.getComponents().getSchemas();
+        var inherited = new ObjectSchema().addProperties("b", ref("B"));
+        schemas.put("D", new ComposedSchema()
+                .addAllOfItem(ref("A"))
+                .addAllOfItem(inherited)
+                .discriminator(new Discriminator().propertyName("@type").mapping(Map.of(
+                        "b", OasUtils.toSchemRef("B"),
+                        "a", OasUtils.toSchemRef("A")))));
+        var content = new Content().addMediaType("application/json", new MediaType().schema(ref("B")));
+        api.getPaths().addPathItem("/b", new PathItem().post(new Operation()
+                .requestBody(new RequestBody().content(content))
+                .responses(new ApiResponses().addApiResponse("201", new ApiResponse().content(new Content()
+                        .addMediaType("application/json", new MediaType().schema(new ArraySchema().items(ref("B")))))))));
+
+        new RenameTypesPostprocessor(n -> n.replace("urn:", "")).accept(api);
+
+        var expected = OasUtils.toSchemRef("Renamed");
+        var d = (ComposedSchema) api.getComponents().getSchemas().get("D");
+        assertEquals(OasUtils.toSchemRef("A"), d.getAllOf().get(0).get$ref());
+        assertEquals(expected, ((Schema<?>) d.getAllOf().get(1).getProperties().get("b")).get$ref());
+        assertEquals(Map.of("b", expected, "a", OasUtils.toSchemRef("A")), d.getDiscriminator().getMapping());
+
+        var operation = api.getPaths().get("/b").getPost();
+        assertEquals(expected, operation.getRequestBody().getContent().get("application/json").getSchema().get$ref());
+        var response = operation.getResponses().get("201").getContent().get("application/json").getSchema();
+        assertEquals(expected, response.getItems().get$ref());
+    }
+
+    private static OpenAPI api() {
+        var b = new ObjectSchema();
+        b.addExtension("x-try-renaming-on", "urn:Renamed");
+        var a = new ObjectSchema()
+                .addProperties("b", ref("B"))
+                .additionalProperties(ref("B"));
+        var operation = new Operation()
+                .addParametersItem(new Parameter().name("p").schema(ref("B")))
+                .responses(new ApiResponses().addApiResponse("200", new ApiResponse()
+                        .headers(Map.of("h", new Header().schema(ref("B"))))));
+        return new OpenAPI()
+                .components(new Components()
+                        .addSchemas("A", a)
+                        .addSchemas("B", b)
+                        .addSchemas("C", new ComposedSchema().addOneOfItem(ref("B"))))
+                .paths(new Paths().addPathItem("/a", new PathItem().get(operation)));
+    }
+
+    private static Schema<?> ref(String name) {
+        return new Schema<>().$ref(OasUtils.toSchemRef(name));
+    }
+}
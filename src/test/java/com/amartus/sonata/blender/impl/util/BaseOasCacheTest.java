@@ -0,0 +1,24 @@
+package com.amartus.sonata.blender.impl.util;
+
+import com.amartus.Utils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class BaseOasCacheTest {
+
+    @Test
+    public void servesCopiesOfParsedSpecification() {
+        var cache = new BaseOasCache().enable();
+        var location = Utils.toPath("oas", "test-spec.yaml").toString();
+
+        var first = cache.read(location, true);
+        var second = cache.read(location, true);
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(OasUtils.readOas(location, true), second);
+        assertEquals(1, cache.size());
+    }
+}
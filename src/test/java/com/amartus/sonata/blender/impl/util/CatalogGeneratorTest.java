@@ -0,0 +1,82 @@
+package com.amartus.sonata.blender.impl.util;
+
+import com.amartus.sonata.blender.impl.BlendingService;
+import com.amartus.sonata.blender.impl.ProductSpecReader;
+import com.amartus.sonata.blender.impl.postprocess.ComposedPostprocessor;
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogGeneratorTest {
+
+    @Test
+    public void generatedCatalogBlends(@TempDir Path dir) throws IOException {
+        var catalog = new CatalogGenerator()
+                .products(3)
+                .typesPerProduct(2)
+                .commonTypes(4)
+                .generate(dir);
+
+        assertEquals(3, catalog.getProductSpecifications().size());
+
+        Map<String, Schema> schemas = new HashMap<>();
+        for (var spec : catalog.getProductSpecifications()) {
+            schemas.putAll(new ProductSpecReader(CatalogGenerator.MODEL_TO_AUGMENT, spec).readSchemas());
+        }
+        var api = new BlendingService(OasUtils.readOas(catalog.getBaseOas().toString()), schemas)
+                .modelToAugment(CatalogGenerator.MODEL_TO_AUGMENT)
+                .postprocessor(new ComposedPostprocessor())
+                .blend();
+
+        var components = api.getComponents().getSchemas();
+        assertTrue(components.keySet().containsAll(List.of("Product0", "Product1", "Product2", "Product0Type1")));
+        var mapping = components.get(CatalogGenerator.MODEL_TO_AUGMENT).getDiscriminator().getMapping();
+        assertEquals("#/components/schemas/Product1", mapping.get("urn:mef:lso:spec:sonata:product-1:v1.0.0:all"));
+    }
+
+    @Test
+    public void generatesInheritanceAndPolymorphism(@TempDir Path dir) throws IOException {
+        var catalog = new CatalogGenerator()
+                .products(1)
+                .libraries(2)
+                .commonTypes(3)
+                .allOfDepth(3)
+                .oneOfVariants(2)
+                .generate(dir);
+
+        Map<String, Schema> schemas = new HashMap<>(
+                new ProductSpecReader(CatalogGenerator.MODEL_TO_AUGMENT, catalog.getProductSpecifications().get(0)).readSchemas());
+        var api = new BlendingService(OasUtils.readOas(catalog.getBaseOas().toString()), schemas)
+                .modelToAugment(CatalogGenerator.MODEL_TO_AUGMENT)
+                .postprocessor(new ComposedPostprocessor())
+                .blend();
+
+        var components = api.getComponents().getSchemas();
+        assertEquals("#/components/schemas/Product0Level1", ((Schema<?>) components.get("Product0Level2").getAllOf().get(0)).get$ref());
+        assertTrue(components.keySet().containsAll(List.of("Common0Type0", "Common1Type0")));
+        assertEquals("@type", components.get("Product0Variant").getDiscriminator().getPropertyName());
+        assertEquals("#/components/schemas/Product0Variant", ((Schema<?>) components.get("Product0Variant1").getAllOf().get(0)).get$ref());
+    }
+
+    @Test
+    public void sameSettingsGenerateSameCatalog(@TempDir Path first, @TempDir Path second) throws IOException {
+        var a = new CatalogGenerator().products(2).seed(7).generate(first.resolve("a"));
+        var b = new CatalogGenerator().products(2).seed(7).generate(second.resolve("b"));
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Files.readString(a.getProductSpecifications().get(i)),
+                    Files.readString(b.getProductSpecifications().get(i)));
+        }
+        assertEquals(Files.readString(a.getBaseOas()), Files.readString(b.getBaseOas()));
+    }
+}
@@ -0,0 +1,80 @@
+package com.amartus.sonata.blender.impl.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DiscoveryIndexTest {
+
+    @Test
+    public void readsOnlyNewOrModifiedFiles(@TempDir Path dir) throws IOException {
+        var root = dir.resolve("specs");
+        var cache = dir.resolve("cache");
+        Files.createDirectories(root);
+        var a = root.resolve("a.yaml");
+        var b = root.resolve("b.yaml");
+        Files.writeString(a, "$id: urn:a\n");
+        Files.writeString(b, "$id: urn:b\n");
+        var sniffer = new SchemaIdSniffer();
+        List<Path> read = new ArrayList<>();
+
+        var index = DiscoveryIndex.load(cache, root);
+        index.id(a, p -> { read.add(p); return sniffer.sniff(p); });
+        index.id(b, p -> { read.add(p); return sniffer.sniff(p); });
+        index.save();
+        assertEquals(List.of(a, b), read);
+
+        read.clear();
+        Files.writeString(b, "$id: urn:bb\n");
+        index = DiscoveryIndex.load(cache, root);
+        assertEquals(Optional.of("urn:a"), index.id(a, p -> { read.add(p); return sniffer.sniff(p); }));
+        assertEquals(Optional.of("urn:bb"), index.id(b, p -> { read.add(p); return sniffer.sniff(p); }));
+        assertEquals(List.of(b), read);
+    }
+
+    @Test
+    public void forgetsRemovedFiles(@TempDir Path dir) throws IOException {
+        var root = dir.resolve("specs");
+        var cache = dir.resolve("cache");
+        Files.createDirectories(root);
+        Files.writeString(root.resolve("a.yaml"), "$id: urn:mef:lso:spec:sonata:a:v1.0.0:all\n");
+        Files.writeString(root.resolve("b.yaml"), "$id: urn:mef:lso:spec:sonata:b:v1.0.0:all\n");
+
+        new IdSchemaResolver("all").index(DiscoveryIndex.load(cache, root)).findProductSpecifications(root);
+        assertEquals(2, DiscoveryIndex.load(cache, root).size());
+
+        Files.delete(root.resolve("b.yaml"));
+        var found = new IdSchemaResolver("all").index(DiscoveryIndex.load(cache, root)).findProductSpecifications(root);
+        assertEquals(List.of(root.resolve("a.yaml")), found);
+        assertEquals(1, DiscoveryIndex.load(cache, root).size());
+    }
+
+    @Test
+    public void forgetsFilesNotCheckedByLaterRun(@TempDir Path dir) throws IOException {
+        var root = dir.resolve("specs");
+        Files.createDirectories(root);
+        var a = root.resolve("a.yaml");
+        var b = root.resolve("b.yaml");
+        Files.writeString(a, "$id: urn:a\n");
+        Files.writeString(b, "$id: urn:b\n");
+        var sniffer = new SchemaIdSniffer();
+
+        var index = DiscoveryIndex.load(dir.resolve("cache"), root);
+        index.id(a, sniffer::sniff);
+        index.id(b, sniffer::sniff);
+        index.save();
+        assertEquals(2, index.size());
+
+        index.id(a, sniffer::sniff);
+        index.save();
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,30 @@
+package com.amartus.sonata.blender.impl.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IdSchemaResolverTest {
+
+    @Test
+    public void parallelDiscoveryIsSorted(@TempDir Path dir) throws IOException {
+        Files.createDirectories(dir.resolve("b"));
+        Files.writeString(dir.resolve("b/spec.yaml"), "$id: urn:mef:lso:spec:sonata:b-spec:v1.0.0:all\n");
+        Files.writeString(dir.resolve("a.json"), "{\"$id\": \"urn:mef:lso:spec:sonata:a-spec:v1.0.0:all\"}");
+        Files.writeString(dir.resolve("c"), "$id: urn:mef:lso:spec:sonata:c-spec:v1.0.0:quote\n");
+        Files.writeString(dir.resolve("README.md"), "# not a specification\n");
+        Files.write(dir.resolve("image.png"), new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0d, 0x0a, 0x1a, 0x0a, 0});
+
+        var serial = new IdSchemaResolver("quote").findProductSpecifications(dir);
+        var parallel = new IdSchemaResolver("quote").parallelism(4).findProductSpecifications(dir);
+
+        assertEquals(List.of(dir.resolve("a.json"), dir.resolve("b/spec.yaml"), dir.resolve("c")), serial);
+        assertEquals(serial, parallel);
+    }
+}
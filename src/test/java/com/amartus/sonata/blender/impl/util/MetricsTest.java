@@ -0,0 +1,72 @@
+package com.amartus.sonata.blender.impl.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+    private static final int MB = 1024 * 1024;
+    private static volatile byte[] sink;
+
+    @Test
+    public void disabledRecordsNothing() {
+        var metrics = Metrics.disabled();
+
+        assertEquals(42, metrics.phase("p", () -> 42));
+        assertTrue(metrics.entries().isEmpty());
+    }
+
+    @Test
+    public void threadMeasurementCountsCurrentThreadAllocations() {
+        var metrics = new Metrics();
+
+        metrics.thread("resolve", "spec", () -> sink = new byte[4 * MB]);
+
+        var entry = metrics.entries().get(0);
+        assertEquals("resolve", entry.getGroup());
+        assertEquals("spec", entry.getName());
+        assertTrue(entry.getAllocatedBytes() >= 4 * MB, "allocated " + entry.getAllocatedBytes());
+        assertTrue(entry.getWallNanos() > 0);
+    }
+
+    @Test
+    public void phaseCountsTerminatedWorkerAllocations() {
+        var metrics = new Metrics();
+
+        metrics.phase("work", () -> {
+            var executor = Executors.newFixedThreadPool(2, new NamedThreadFactory("metrics-test"));
+            for (int i = 0; i < 2; i++) {
+                executor.submit(() -> sink = new byte[8 * MB]);
+            }
+            executor.shutdown();
+            try {
+                assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        var entry = metrics.entries().get(0);
+        assertEquals(Metrics.PHASE, entry.getGroup());
+        assertTrue(entry.getAllocatedBytes() >= 16 * MB, "allocated " + entry.getAllocatedBytes());
+    }
+
+    @Test
+    public void writesJsonReport(@TempDir Path dir) throws IOException {
+        var metrics = new Metrics();
+        metrics.phase("merge", () -> {});
+        metrics.write(dir.resolve("report.json"));
+
+        var report = new ObjectMapper().readTree(dir.resolve("report.json").toFile());
+        assertEquals("merge", report.get("entries").get(0).get("name").textValue());
+        assertTrue(report.get("total").has("cpuNanos"));
+    }
+}
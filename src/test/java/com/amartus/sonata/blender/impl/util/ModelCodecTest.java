@@ -0,0 +1,105 @@
+/*
+ *
+ * Copyright 2024 Amartus
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.amartus.sonata.blender.impl.util;
+
+import com.amartus.Utils;
+import com.amartus.sonata.blender.impl.ProductSpecReader;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.DateTimeSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ModelCodecTest {
+
+    @Test
+    public void copiesResolvedSchemas() {
+        var schemas = new ProductSpecReader("testToAugment", Utils.toPath("mini-model", "model-js.json"))
+                .readSchemas();
+
+        var copy = ModelCodec.copy(schemas, ModelCodec.SCHEMAS);
+
+        assertEquals(schemas, copy);
+        schemas.forEach((k, v) -> assertNotSame(v, copy.get(k)));
+    }
+
+    @Test
+    public void encodesResolvedSchemas() throws IOException {
+        var schemas = new ProductSpecReader("testToAugment", Utils.toPath("protect-descriptions", "typeRoot.yaml"))
+                .readSchemas();
+
+        var out = new ByteArrayOutputStream();
+        ModelCodec.write(schemas, out);
+        var decoded = ModelCodec.read(new ByteArrayInputStream(out.toByteArray()), ModelCodec.SCHEMAS);
+
+        assertEquals(schemas, decoded);
+    }
+
+    @Test
+    public void copiesOpenApi() {
+        var oas = OasUtils.readOas(Utils.toPath("oas", "test-spec.yaml").toString());
+
+        var copy = ModelCodec.copy(oas, OpenAPI.class);
+
+        assertEquals(oas, copy);
+        assertNotSame(oas.getComponents(), copy.getComponents());
+    }
+
+    @Test
+    public void encodesValueTypes() throws IOException {
+        Map<String, Schema<?>> schemas = new HashMap<>();
+        schemas.put("Values", new ObjectSchema()
+                .addProperty("long", new IntegerSchema().format("int64")._default(5L).example(10L))
+                .addProperty("decimal", new NumberSchema().example(new BigDecimal("1.5")))
+                .addProperty("date", new DateTimeSchema().example(OffsetDateTime.parse("2024-01-01T00:00:00Z")))
+                .addProperty("node", new ObjectSchema().example(JsonNodeFactory.instance.objectNode().put("a", 1))));
+
+        var out = new ByteArrayOutputStream();
+        ModelCodec.write(schemas, out);
+        var decoded = ModelCodec.read(new ByteArrayInputStream(out.toByteArray()), ModelCodec.SCHEMAS);
+
+        assertEquals(schemas, decoded);
+    }
+
+    @Test
+    public void rejectsTypesNotAllowed() {
+        var document = "{\"@class\":\"java.util.HashMap\",\"A\":{\"@class\":\"io.swagger.v3.oas.models.media.Schema\"," +
+                "\"example\":[\"java.lang.ProcessBuilder\",{}]}}";
+
+        assertThrows(InvalidTypeIdException.class,
+                () -> ModelCodec.read(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)), ModelCodec.SCHEMAS));
+    }
+}
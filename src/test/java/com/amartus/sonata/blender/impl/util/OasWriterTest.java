@@ -0,0 +1,41 @@
+package com.amartus.sonata.blender.impl.util;
+
+import com.amartus.Utils;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OasWriterTest {
+
+    @Test
+    public void writesSameDocumentAsMapperInUtf8() throws IOException {
+        var api = OasUtils.readOas(Utils.toPath("oas", "test-spec.yaml").toString());
+        api.getComponents().addSchemas("Unicode", new StringSchema().description("za\u017c\u00f3\u0142\u0107 \u2013 \u2713"));
+        var target = Files.createTempFile("oas-writer", ".yaml");
+        target.toFile().deleteOnExit();
+
+        OasWriter.yaml().write(api, target);
+
+        assertEquals(SerializationUtils.yamlMapper().writeValueAsString(api),
+                Files.readString(target, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writesSameDocumentFromTree() throws IOException {
+        var api = OasUtils.readOas(Utils.toPath("oas", "test-spec.yaml").toString());
+        var fromModel = Files.createTempFile("oas-writer", ".yaml");
+        var fromTree = Files.createTempFile("oas-writer", ".yaml");
+        fromModel.toFile().deleteOnExit();
+        fromTree.toFile().deleteOnExit();
+
+        OasWriter.yaml().write(api, fromModel);
+        OasWriter.yaml().write(SerializationUtils.toTree(api), fromTree);
+
+        assertEquals(Files.readString(fromModel), Files.readString(fromTree));
+    }
+}
@@ -0,0 +1,72 @@
+package com.amartus.sonata.blender.impl.util;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class RefIndexTest {
+
+    @Test
+    public void indexesSchemasAndPaths() {
+        var index = RefIndex.build(api());
+
+        assertEquals(Set.of("B", "C"), index.outgoing("A"));
+        assertEquals(Set.of("A", RefIndex.PATHS), index.incoming("B"));
+        assertEquals(Set.of("A", "C2", RefIndex.PATHS), index.incoming("C"));
+        assertEquals(Set.of(), index.incoming("A"));
+    }
+
+    @Test
+    public void renamesOnlyReferrers() {
+        var api = api();
+        var index = RefIndex.build(api);
+
+        index.rename("B", "X");
+
+        var a = api.getComponents().getSchemas().get("A");
+        assertEquals("#/components/schemas/X", ((Schema<?>) a.getProperties().get("b")).get$ref());
+        assertEquals("#/components/schemas/X", api.getPaths().get("/a").getGet().getParameters().get(0).getSchema().get$ref());
+        assertEquals("#/components/schemas/C", ((ComposedSchema) api.getComponents().getSchemas().get("C2")).getAllOf().get(0).get$ref());
+        assertEquals(Set.of("A", RefIndex.PATHS), index.incoming("X"));
+        assertFalse(index.isReferenced("B"));
+    }
+
+    private static OpenAPI api() {
+        var a = new ObjectSchema()
+                .addProperties("b", ref("B"))
+                .addProperties("cs", new ArraySchema().items(ref("C")))
+                .additionalProperties(ref("B"));
+        var c2 = new ComposedSchema().addAllOfItem(ref("C"));
+        var operation = new Operation()
+                .addParametersItem(new Parameter().name("p").schema(ref("B")))
+                .requestBody(new RequestBody().content(new Content().addMediaType("application/json",
+                        new MediaType().schema(ref("C")))));
+        return new OpenAPI()
+                .components(new Components()
+                        .addSchemas("A", a)
+                        .addSchemas("B", new ObjectSchema())
+                        .addSchemas("C", new ObjectSchema())
+                        .addSchemas("C2", c2))
+                .paths(new Paths().addPathItem("/a", new PathItem().get(operation)));
+    }
+
+    private static Schema<?> ref(String name) {
+        return new Schema<>().$ref(OasUtils.toSchemRef(name));
+    }
+}
@@ -0,0 +1,47 @@
+package com.amartus.sonata.blender.impl.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SchemaIdSnifferTest {
+    private final SchemaIdSniffer sniffer = new SchemaIdSniffer();
+
+    @Test
+    public void stopsAtRootId(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("spec.json");
+        Files.writeString(file, "{\"definitions\": {\"A\": {\"$id\": \"nested\"}}, \"$id\": \"urn:a\", \"broken\": [");
+
+        assertEquals(Optional.of("urn:a"), sniffer.sniff(file));
+    }
+
+    @Test
+    public void readsYamlWithoutExtension(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("spec");
+        Files.writeString(file, "# comment\n---\ntitle: x\n$id: urn:b\n");
+
+        assertEquals(Optional.of("urn:b"), sniffer.sniff(file));
+    }
+
+    @Test
+    public void ignoresNestedAndMissingIds(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("spec.yaml");
+        Files.writeString(file, "definitions:\n  A:\n    $id: nested\n");
+
+        assertEquals(Optional.empty(), sniffer.sniff(file));
+    }
+
+    @Test
+    public void skipsBinaryFiles(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("image.png");
+        Files.write(file, new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0d, 0x0a, 0x1a, 0x0a, 0});
+
+        assertEquals(Optional.empty(), sniffer.sniff(file));
+    }
+}
@@ -0,0 +1,24 @@
+package com.amartus.sonata.blender.impl.util;
+
+import com.amartus.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SerializationUtilsTest {
+
+    @Test
+    public void sharedWritersMatchConfiguredMappers() throws IOException {
+        var api = OasUtils.readOas(Utils.toPath("oas", "test-spec.yaml").toString());
+
+        assertSame(SerializationUtils.yamlWriter(), SerializationUtils.yamlWriter());
+        assertEquals(SerializationUtils.yamlMapper().writeValueAsString(api),
+                SerializationUtils.yamlWriter().writeValueAsString(api));
+        assertEquals(SerializationUtils.jsonMapper().writeValueAsString(api),
+                SerializationUtils.jsonWriter().writeValueAsString(api));
+        assertEquals(SerializationUtils.yamlMapper().valueToTree(api), SerializationUtils.toTree(api));
+    }
+}
@@ -0,0 +1,58 @@
+package com.amartus.sonata.blender.impl.util;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class StructuralHashTest {
+
+    @Test
+    public void equalSchemasHaveEqualHashes() {
+        var hash = new StructuralHash();
+
+        assertEquals(hash.of(object("a", "b")), hash.of(object("a", "b")));
+        assertNotEquals(hash.of(object("a", "b")), hash.of(object("a", "c")));
+        assertNotEquals(hash.of(object("a", "b")), hash.of(new ArraySchema().items(object("a", "b"))));
+    }
+
+    @Test
+    public void propertiesHashIgnoresOrder() {
+        var hash = new StructuralHash();
+        var first = new ObjectSchema()
+                .addProperties("a", new StringSchema())
+                .addProperties("b", ref("X"));
+        var second = new ObjectSchema()
+                .addProperties("b", ref("X"))
+                .addProperties("a", new StringSchema());
+
+        assertEquals(first, second);
+        assertEquals(hash.of(first), hash.of(second));
+    }
+
+    @Test
+    public void referencesHashIgnoresOrder() {
+        assertEquals(
+                StructuralHash.ofReferences(List.of(ref("A"), ref("B"))),
+                StructuralHash.ofReferences(List.of(ref("B"), ref("A"))));
+        assertNotEquals(
+                StructuralHash.ofReferences(List.of(ref("A"), ref("B"))),
+                StructuralHash.ofReferences(List.of(ref("A"), ref("C"))));
+    }
+
+    private static Schema<?> object(String... enumValues) {
+        return new ObjectSchema()
+                .addProperties("e", new StringSchema()._enum(List.of(enumValues)))
+                .addProperties("r", ref("X"));
+    }
+
+    private static Schema<?> ref(String name) {
+        return new Schema<>().$ref(OasUtils.toSchemRef(name));
+    }
+}
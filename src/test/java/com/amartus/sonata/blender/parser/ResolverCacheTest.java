@@ -0,0 +1,29 @@
+package com.amartus.sonata.blender.parser;
+
+import com.amartus.Utils;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.models.RefFormat;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ResolverCacheTest {
+
+    @Test
+    public void parsesExternalFileOncePerResolution() {
+        var root = Utils.toPath("ref-model", "root.yaml").toAbsolutePath().toString();
+        var cache = new ResolverCache(new OpenAPI(), root, new ParseOptions(), new DeserializerProvider());
+
+        var a = cache.loadRef("./root.yaml#/components/schemas/Root", RefFormat.RELATIVE, Schema.class);
+        var b = cache.loadRef("./root.yaml#/components/schemas/SomeProperty", RefFormat.RELATIVE, Schema.class);
+        cache.loadRef("./root.yaml#/components/schemas/Root", RefFormat.RELATIVE, Schema.class);
+
+        assertNotNull(a);
+        assertNotNull(b);
+        assertEquals(1, cache.getParsedTreeMisses());
+        assertEquals(1, cache.getParsedTreeHits());
+    }
+}
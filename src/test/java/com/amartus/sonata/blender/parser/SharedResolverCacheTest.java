@@ -0,0 +1,124 @@
+package com.amartus.sonata.blender.parser;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedResolverCacheTest {
+    private final SharedResolverCache cache = new SharedResolverCache();
+
+    @Test
+    public void parsesFileOnce() throws IOException {
+        var file = Files.createTempFile("shared", ".yaml");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, "a: 1\n");
+
+        var first = cache.tree(file, file.toString(), new ParseOptions());
+        var second = cache.tree(file, file.toString(), new ParseOptions());
+
+        assertEquals(first.getTree(), second.getTree());
+        assertEquals(1, first.getTree().get("a").intValue());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void reportsMalformedFileWithCallerLocation() throws IOException {
+        var file = Files.createTempFile("shared", ".yaml");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, "a: [1\n");
+
+        var first = cache.tree(file, "first.yaml", new ParseOptions());
+        var second = cache.tree(file, "second.yaml", new ParseOptions());
+
+        assertNull(first.getTree());
+        assertFalse(first.getMessages().isEmpty());
+        assertTrue(second.getMessages().stream().anyMatch(m -> m.contains("second.yaml")), second.getMessages().toString());
+        assertTrue(second.getMessages().stream().noneMatch(m -> m.contains("first.yaml")), second.getMessages().toString());
+    }
+
+    @Test
+    public void handsOutCopies() throws IOException {
+        var file = Files.createTempFile("shared", ".yaml");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, "a: 1\n");
+
+        var first = cache.tree(file, file.toString(), new ParseOptions());
+        ((ObjectNode) first.getTree()).put("a", 2);
+
+        assertNotSame(first.getTree(), cache.tree(file, file.toString(), new ParseOptions()).getTree());
+        assertEquals(1, cache.tree(file, file.toString(), new ParseOptions()).getTree().get("a").intValue());
+    }
+
+    @Test
+    public void keepsParsedTreePerOptions() throws IOException {
+        var file = Files.createTempFile("shared", ".yaml");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, "a: 1\n");
+        var legacy = new ParseOptions();
+        legacy.setLegacyYamlDeserialization(true);
+
+        assertEquals(1, cache.tree(file, file.toString(), new ParseOptions()).getTree().get("a").intValue());
+        assertEquals(1, cache.tree(file, file.toString(), legacy).getTree().get("a").intValue());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void dropsLeastRecentlyUsedFilesAboveLimit() throws IOException {
+        var bounded = new SharedResolverCache(10);
+        var first = Files.createTempFile("shared", ".yaml");
+        var second = Files.createTempFile("shared", ".yaml");
+        var third = Files.createTempFile("shared", ".yaml");
+        for (var file : List.of(first, second, third)) {
+            file.toFile().deleteOnExit();
+            Files.writeString(file, "a: 1\n");
+        }
+
+        var firstContents = bounded.contents(first);
+        var secondContents = bounded.contents(second);
+        bounded.contents(first);
+        bounded.contents(third);
+
+        assertEquals(2, bounded.size());
+        assertSame(firstContents, bounded.contents(first));
+        assertNotSame(secondContents, bounded.contents(second));
+    }
+
+    @Test
+    public void invalidatesModifiedFile() throws IOException {
+        var file = Files.createTempFile("shared", ".yaml");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, "a: 1\n");
+        var first = cache.tree(file, file.toString(), new ParseOptions());
+
+        Files.writeString(file, "a: 10\n");
+        var second = cache.tree(file, file.toString(), new ParseOptions());
+
+        assertNotSame(first, second);
+        assertEquals(10, second.getTree().get("a").intValue());
+        assertEquals("a: 10\n", cache.contents(file));
+    }
+
+    @Test
+    public void evictsFile() throws IOException {
+        var file = Files.createTempFile("shared", ".yaml");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, "a: 1\n");
+        var first = cache.tree(file, file.toString(), new ParseOptions());
+
+        cache.evict(file);
+
+        assertEquals(0, cache.size());
+        assertNotSame(first, cache.tree(file, file.toString(), new ParseOptions()));
+    }
+}